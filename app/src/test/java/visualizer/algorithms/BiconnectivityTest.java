@@ -0,0 +1,101 @@
+package visualizer.algorithms;
+
+import org.junit.jupiter.api.Test;
+import visualizer.graph.CsrGraph;
+import visualizer.graph.Graph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class BiconnectivityTest {
+
+    @Test
+    void cutsMatchBruteForce() {
+        Random random = new Random(250);
+        for (int round = 0; round < 300; round++) {
+            // Few vertices and up to twice as many edges: trees, cycles and parallel edges all show up.
+            int n = 1 + random.nextInt(30);
+            Graph graph = RandomGraphs.multigraph(random, n, random.nextInt(2 * n + 1), 1);
+            for (int i = random.nextInt(n / 5 + 1); i > 0; i--) {
+                int v = random.nextInt(n);
+                if (graph.containsVertex(v)) {
+                    graph.removeVertex(v);
+                }
+            }
+            assertCuts(graph);
+        }
+    }
+
+    @Test
+    void parallelEdgesAreNeverBridges() {
+        Graph graph = RandomGraphs.multigraph(new Random(5), 3, 0, 1);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(1, 2, 1);
+        Cuts cuts = Biconnectivity.run(CsrGraph.of(graph));
+        assertArrayEquals(new int[] {2}, bridges(cuts));
+        assertArrayEquals(new int[] {1}, articulationPoints(cuts));
+    }
+
+    /** An edge is a bridge and a vertex an articulation point if removing it adds components. */
+    private static void assertCuts(Graph graph) {
+        int components = componentCount(graph, -1, -1);
+        int[] bridges = new int[graph.edgeLimit()];
+        int bridgeCount = 0;
+        for (int e = 0; e < graph.edgeLimit(); e++) {
+            if (graph.containsEdge(e) && componentCount(graph, e, -1) > components) {
+                bridges[bridgeCount++] = e;
+            }
+        }
+        int[] articulationPoints = new int[graph.vertexLimit()];
+        int articulationPointCount = 0;
+        for (int v = 0; v < graph.vertexLimit(); v++) {
+            if (graph.containsVertex(v) && graph.degree(v) > 0 && componentCount(graph, -1, v) > components) {
+                articulationPoints[articulationPointCount++] = v;
+            }
+        }
+
+        Cuts cuts = Biconnectivity.run(CsrGraph.of(graph));
+        assertArrayEquals(Arrays.copyOf(bridges, bridgeCount), bridges(cuts), "bridges");
+        assertArrayEquals(Arrays.copyOf(articulationPoints, articulationPointCount), articulationPoints(cuts),
+                "articulation points");
+    }
+
+    /** Components among the live vertices other than {@code skippedVertex}, ignoring {@code skippedEdge}. */
+    private static int componentCount(Graph graph, int skippedEdge, int skippedVertex) {
+        DisjointSet sets = new DisjointSet(Math.max(1, graph.vertexLimit()));
+        int count = 0;
+        for (int v = 0; v < graph.vertexLimit(); v++) {
+            if (graph.containsVertex(v) && v != skippedVertex) {
+                count++;
+            }
+        }
+        for (int e = 0; e < graph.edgeLimit(); e++) {
+            if (graph.containsEdge(e) && e != skippedEdge && graph.source(e) != skippedVertex
+                    && graph.target(e) != skippedVertex && sets.union(graph.source(e), graph.target(e))) {
+                count--;
+            }
+        }
+        return count;
+    }
+
+    private static int[] bridges(Cuts cuts) {
+        int[] bridges = new int[cuts.bridgeCount()];
+        for (int i = 0; i < bridges.length; i++) {
+            bridges[i] = cuts.bridge(i);
+        }
+        Arrays.sort(bridges);
+        return bridges;
+    }
+
+    private static int[] articulationPoints(Cuts cuts) {
+        int[] points = new int[cuts.articulationPointCount()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = cuts.articulationPoint(i);
+        }
+        Arrays.sort(points);
+        return points;
+    }
+}
@@ -0,0 +1,81 @@
+package visualizer.algorithms;
+
+import org.junit.jupiter.api.Test;
+import visualizer.graph.CsrGraph;
+import visualizer.graph.Graph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConnectedComponentsTest {
+
+    @Test
+    void labelsMatchBreadthFirstSearchOnSmallGraphs() {
+        Random random = new Random(25);
+        for (int round = 0; round < 100; round++) {
+            int n = 1 + random.nextInt(200);
+            Graph graph = RandomGraphs.multigraph(random, n, random.nextInt(2 * n + 1), 1);
+            for (int i = random.nextInt(n / 4 + 1); i > 0; i--) {
+                int v = random.nextInt(n);
+                if (graph.containsVertex(v)) {
+                    graph.removeVertex(v);
+                }
+            }
+            assertSameComponents(graph);
+        }
+    }
+
+    @Test
+    void labelsMatchBreadthFirstSearchOnLargeGraphs() {
+        Random random = new Random(52);
+        // Around an average degree of one there are both many small components and a giant one.
+        for (int edgesPerVertex : new int[] {1, 2, 4}) {
+            int n = 100_000;
+            assertSameComponents(RandomGraphs.multigraph(random, n, edgesPerVertex * n / 2, 1));
+        }
+    }
+
+    /** Numbers the components by a breadth-first search from every unlabelled id in order and compares. */
+    private static void assertSameComponents(Graph graph) {
+        CsrGraph csr = CsrGraph.of(graph);
+        int n = csr.vertexCount();
+        int[] labels = new int[n];
+        Arrays.fill(labels, -1);
+        int[] sizes = new int[n];
+        int[] queue = new int[n];
+        int count = 0;
+        for (int root = 0; root < n; root++) {
+            if (labels[root] >= 0) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = root;
+            labels[root] = count;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int i = csr.offsets[u]; i < csr.offsets[u + 1]; i++) {
+                    if (labels[csr.targets[i]] < 0) {
+                        labels[csr.targets[i]] = count;
+                        queue[tail++] = csr.targets[i];
+                    }
+                }
+            }
+            sizes[count++] = tail;
+        }
+
+        Components components = ConnectedComponents.run(csr);
+        assertEquals(count, components.count(), "component count");
+        int[] actual = new int[n];
+        for (int v = 0; v < n; v++) {
+            actual[v] = components.component(v);
+        }
+        assertArrayEquals(labels, actual, "component labels");
+        for (int c = 0; c < count; c++) {
+            assertEquals(sizes[c], components.size(c), "size of component " + c);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package visualizer.algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import visualizer.graph.CsrGraph;
+import visualizer.graph.Graph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static visualizer.algorithms.RouteChecks.assertShortestRoute;
+
+class ContractionHierarchyTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void queriesMatchDijkstra() {
+        Random random = new Random(20);
+        for (int round = 0; round < 40; round++) {
+            Graph graph = randomGraph(random);
+            CsrGraph csr = CsrGraph.of(graph);
+            check(graph, csr, ContractionHierarchy.build(csr), random);
+        }
+    }
+
+    @Test
+    void queriesMatchDijkstraAfterRoundTrip() throws IOException {
+        Random random = new Random(202);
+        for (int round = 0; round < 20; round++) {
+            Graph graph = randomGraph(random);
+            CsrGraph csr = CsrGraph.of(graph);
+            Path path = directory.resolve("graph" + round + ".ch");
+            HierarchyFiles.write(ContractionHierarchy.build(csr), graph, path);
+            check(graph, csr, HierarchyFiles.read(path, graph, csr), random);
+        }
+    }
+
+    @Test
+    void rejectsHierarchyOfAnotherGraph() throws IOException {
+        Random random = new Random(2);
+        Graph graph = RandomGraphs.multigraph(random, 50, 120, 100);
+        CsrGraph csr = CsrGraph.of(graph);
+        Path path = directory.resolve("graph.ch");
+        HierarchyFiles.write(ContractionHierarchy.build(csr), graph, path);
+
+        graph.addEdge(0, 1, 7);
+        CsrGraph changed = CsrGraph.of(graph);
+        assertThrows(IOException.class, () -> HierarchyFiles.read(path, graph, changed));
+    }
+
+    /** A multigraph with zero-weight and parallel edges, and some removed vertices leaving gaps in the ids. */
+    private static Graph randomGraph(Random random) {
+        int n = 2 + random.nextInt(200);
+        Graph graph = RandomGraphs.multigraph(random, n, random.nextInt(3 * n + 1), 1 + random.nextInt(30));
+        for (int i = random.nextInt(n / 4 + 1); i > 0; i--) {
+            int v = random.nextInt(n);
+            if (graph.containsVertex(v) && graph.vertexCount() > 1) {
+                graph.removeVertex(v);
+            }
+        }
+        return graph;
+    }
+
+    private static void check(Graph graph, CsrGraph csr, ContractionHierarchy hierarchy, Random random) {
+        for (int pair = 0; pair < 10; pair++) {
+            int source = randomVertex(graph, random);
+            int target = randomVertex(graph, random);
+            assertShortestRoute(graph, Dijkstra.run(csr, source), target, hierarchy.query(source, target));
+        }
+    }
+
+    private static int randomVertex(Graph graph, Random random) {
+        while (true) {
+            int v = random.nextInt(graph.vertexLimit());
+            if (graph.containsVertex(v)) {
+                return v;
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package visualizer.algorithms;
+
+import org.junit.jupiter.api.Test;
+import visualizer.graph.CsrGraph;
+import visualizer.graph.Graph;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeltaSteppingTest {
+
+    @Test
+    void distancesMatchDijkstraForEveryDelta() {
+        Random random = new Random(17);
+        for (int round = 0; round < 40; round++) {
+            int n = 1 + random.nextInt(200);
+            Graph graph = RandomGraphs.multigraph(random, n, random.nextInt(4 * n + 1), 1 + random.nextInt(50));
+            CsrGraph csr = CsrGraph.of(graph);
+            int source = random.nextInt(n);
+            ShortestPaths expected = Dijkstra.run(csr, source);
+            for (int delta : new int[] {1, 3, DeltaStepping.defaultDelta(csr), 1 << 20}) {
+                assertMatches(graph, expected, DeltaStepping.run(csr, source, delta, StepListener.NONE), delta);
+            }
+        }
+    }
+
+    @Test
+    void zeroWeightAndParallelEdges() {
+        Random random = new Random(23);
+        for (int round = 0; round < 40; round++) {
+            // Few vertices and many edges with weights in {0, 1, 2}: plenty of parallel and zero-weight edges.
+            int n = 2 + random.nextInt(20);
+            Graph graph = RandomGraphs.multigraph(random, n, 3 * n + random.nextInt(5 * n), 2);
+            CsrGraph csr = CsrGraph.of(graph);
+            int source = random.nextInt(n);
+            ShortestPaths expected = Dijkstra.run(csr, source);
+            for (int delta = 1; delta <= 3; delta++) {
+                assertMatches(graph, expected, DeltaStepping.run(csr, source, delta, StepListener.NONE), delta);
+            }
+        }
+    }
+
+    @Test
+    void largeGraphsSplitAcrossWorkers() {
+        Random random = new Random(31);
+        for (int round = 0; round < 4; round++) {
+            int n = 20_000;
+            Graph graph = RandomGraphs.multigraph(random, n, 3 * n, 1000);
+            CsrGraph csr = CsrGraph.of(graph);
+            int source = random.nextInt(n);
+            ShortestPaths expected = Dijkstra.run(csr, source);
+            for (int delta : new int[] {1, 100, DeltaStepping.defaultDelta(csr)}) {
+                assertMatches(graph, expected, DeltaStepping.run(csr, source, delta, StepListener.NONE), delta);
+            }
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveDelta() {
+        CsrGraph csr = CsrGraph.of(RandomGraphs.multigraph(new Random(1), 4, 4, 5));
+        assertThrows(IllegalArgumentException.class, () -> DeltaStepping.run(csr, 0, 0, StepListener.NONE));
+    }
+
+    /** Same distances as Dijkstra, and every predecessor edge is tight. */
+    private static void assertMatches(Graph graph, ShortestPaths expected, ShortestPaths actual, int delta) {
+        for (int v = 0; v < graph.vertexLimit(); v++) {
+            assertEquals(expected.distance(v), actual.distance(v), "distance of " + v + " with delta " + delta);
+            int e = actual.predecessorEdge(v);
+            if (e < 0) {
+                assertTrue(v == actual.source() || !actual.reached(v), "predecessor of " + v);
+                continue;
+            }
+            int u = graph.opposite(e, v);
+            assertEquals(actual.distance(u) + graph.weight(e), actual.distance(v), "tree edge into " + v);
+            assertEquals(u, actual.predecessor(v), "predecessor of " + v);
+        }
+    }
+}
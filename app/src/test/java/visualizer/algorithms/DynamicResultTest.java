@@ -0,0 +1,149 @@
+package visualizer.algorithms;
+
+import org.junit.jupiter.api.Test;
+import visualizer.graph.CsrGraph;
+import visualizer.graph.EditLog;
+import visualizer.graph.Graph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DynamicResultTest {
+
+    @Test
+    void updatesMatchFullRunsAfterEditsUndoAndRedo() {
+        Random random = new Random(24);
+        for (int round = 0; round < 30; round++) {
+            Graph graph = RandomGraphs.multigraph(random, 2 + random.nextInt(60), random.nextInt(120), 1 + random.nextInt(40));
+            EditLog log = new EditLog(graph);
+            int source = 0;
+            DynamicShortestPaths paths = DynamicShortestPaths.compute(graph, source, log.size());
+            DynamicSpanningForest forest = DynamicSpanningForest.compute(graph, log.size());
+            DynamicComponents components = new DynamicComponents(graph, log.size());
+            for (int step = 0; step < 150; step++) {
+                int choice = random.nextInt(10);
+                if (choice < 2 && log.canUndo()) {
+                    log.undo();
+                } else if (choice < 3 && log.canRedo()) {
+                    log.redo();
+                } else {
+                    edit(graph, log, random, source);
+                }
+                if (!paths.update(log)) {
+                    source = randomVertex(graph, random);
+                    paths = DynamicShortestPaths.compute(graph, source, log.size());
+                }
+                assertTrue(forest.update(log), "spanning forest dropped");
+                assertTrue(components.update(log), "components dropped");
+
+                CsrGraph csr = CsrGraph.of(graph);
+                assertPaths(graph, Dijkstra.run(csr, source), paths, step);
+                assertForest(graph, Kruskal.run(csr), forest, step);
+                assertComponents(graph, components, step);
+            }
+        }
+    }
+
+    private static void assertPaths(Graph graph, ShortestPaths expected, DynamicShortestPaths actual, int step) {
+        for (int v = 0; v < graph.vertexLimit(); v++) {
+            if (!graph.containsVertex(v)) {
+                continue;
+            }
+            assertEquals(expected.distance(v), actual.distance(v), "distance of " + v + " after step " + step);
+            int e = actual.predecessorEdge(v);
+            if (e >= 0) {
+                assertTrue(graph.containsEdge(e), "predecessor edge of " + v + " after step " + step);
+                long through = actual.distance(graph.opposite(e, v)) + graph.weight(e);
+                assertEquals(actual.distance(v), through, "predecessor edge of " + v + " after step " + step);
+            }
+        }
+    }
+
+    /** Minimum forests may differ among equal weights, but their size and total weight may not. */
+    private static void assertForest(Graph graph, SpanningTree expected, DynamicSpanningForest actual, int step) {
+        assertEquals(expected.edgeCount(), actual.edgeCount(), "forest edges after step " + step);
+        assertEquals(expected.totalWeight(), actual.totalWeight(), "forest weight after step " + step);
+        SpanningTree tree = actual.tree();
+        DisjointSet cycles = new DisjointSet(Math.max(1, graph.vertexLimit()));
+        long weight = 0;
+        for (int i = 0; i < tree.edgeCount(); i++) {
+            int e = tree.edge(i);
+            assertTrue(graph.containsEdge(e), "forest edge " + e + " after step " + step);
+            assertTrue(cycles.union(graph.source(e), graph.target(e)), "forest cycle after step " + step);
+            weight += graph.weight(e);
+        }
+        assertEquals(actual.totalWeight(), weight, "forest weight after step " + step);
+    }
+
+    private static void assertComponents(Graph graph, DynamicComponents actual, int step) {
+        int n = graph.vertexLimit();
+        DisjointSet sets = new DisjointSet(Math.max(1, n));
+        for (int e = 0; e < graph.edgeLimit(); e++) {
+            if (graph.containsEdge(e)) {
+                sets.union(graph.source(e), graph.target(e));
+            }
+        }
+        int[] labels = new int[n];
+        int[] numbers = new int[n];
+        Arrays.fill(numbers, -1);
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            if (!graph.containsVertex(v)) {
+                labels[v] = -1;
+                continue;
+            }
+            int root = sets.find(v);
+            if (numbers[root] < 0) {
+                numbers[root] = count++;
+            }
+            labels[v] = numbers[root];
+        }
+        assertEquals(count, actual.componentCount(), "component count after step " + step);
+        assertArrayEquals(labels, actual.labels(), "component labels after step " + step);
+    }
+
+    /** One random edit or a transaction of a few, made through the log; the source is kept unless alone. */
+    private static void edit(Graph graph, EditLog log, Random random, int source) {
+        log.begin();
+        try {
+            for (int i = random.nextInt(3) == 0 ? 1 + random.nextInt(4) : 1; i > 0; i--) {
+                int choice = random.nextInt(10);
+                if (choice < 2 || graph.vertexCount() < 2) {
+                    log.addVertex(random.nextInt(1000), random.nextInt(1000), null);
+                } else if (choice < 3) {
+                    int v = randomVertex(graph, random);
+                    if (v != source || random.nextInt(4) == 0) {
+                        log.removeVertex(v);
+                    }
+                } else if (choice < 7) {
+                    int u = randomVertex(graph, random);
+                    int v = randomVertex(graph, random);
+                    if (u != v) {
+                        log.addEdge(u, v, random.nextInt(40));
+                    }
+                } else if (graph.edgeCount() > 0) {
+                    int e;
+                    do {
+                        e = random.nextInt(graph.edgeLimit());
+                    } while (!graph.containsEdge(e));
+                    log.removeEdge(e);
+                }
+            }
+        } finally {
+            log.commit();
+        }
+    }
+
+    private static int randomVertex(Graph graph, Random random) {
+        while (true) {
+            int v = random.nextInt(graph.vertexLimit());
+            if (graph.containsVertex(v)) {
+                return v;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package visualizer.algorithms;
+
+import org.junit.jupiter.api.Test;
+import visualizer.graph.CsrGraph;
+import visualizer.graph.Graph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelBreadthFirstSearchTest {
+
+    @Test
+    void levelsMatchSequentialSearchOnSmallGraphs() {
+        Random random = new Random(16);
+        for (int round = 0; round < 100; round++) {
+            int n = 1 + random.nextInt(300);
+            assertSameLevels(RandomGraphs.multigraph(random, n, random.nextInt(3 * n + 1), 1), random.nextInt(n));
+        }
+    }
+
+    @Test
+    void levelsMatchSequentialSearchOnLargeGraphs() {
+        Random random = new Random(61);
+        // Sparse graphs stay top-down; dense ones switch to bottom-up for their middle levels.
+        for (int averageDegree : new int[] {1, 3, 16, 64}) {
+            int n = 30_000;
+            assertSameLevels(RandomGraphs.multigraph(random, n, averageDegree * n / 2, 1), random.nextInt(n));
+        }
+    }
+
+    private static void assertSameLevels(Graph graph, int root) {
+        CsrGraph csr = CsrGraph.of(graph);
+        Traversal sequential = BreadthFirstSearch.run(csr, root);
+        Traversal parallel = ParallelBreadthFirstSearch.run(csr, root);
+        assertEquals(sequential.count(), parallel.count(), "reached vertices");
+        assertArrayEquals(levels(graph, sequential), levels(graph, parallel));
+    }
+
+    /**
+     * Hop distance of every vertex, {@code -1} if unreached, checking on the way that each tree edge
+     * leads from a vertex visited earlier and that levels never decrease in visiting order.
+     */
+    private static int[] levels(Graph graph, Traversal traversal) {
+        int[] level = new int[graph.vertexLimit()];
+        Arrays.fill(level, -1);
+        level[traversal.vertex(0)] = 0;
+        assertEquals(-1, traversal.treeEdge(0), "tree edge of the root");
+        for (int i = 1; i < traversal.count(); i++) {
+            int v = traversal.vertex(i);
+            assertEquals(-1, level[v], "vertex " + v + " visited twice");
+            int parent = graph.opposite(traversal.treeEdge(i), v);
+            assertTrue(level[parent] >= 0, "parent of " + v + " visited later");
+            level[v] = level[parent] + 1;
+            assertTrue(level[v] >= level[traversal.vertex(i - 1)], "levels out of order at " + v);
+        }
+        return level;
+    }
+}
@@ -0,0 +1,59 @@
+package visualizer.algorithms;
+
+import org.junit.jupiter.api.Test;
+import visualizer.graph.CsrGraph;
+import visualizer.graph.Graph;
+
+import java.util.Random;
+
+import static visualizer.algorithms.RouteChecks.assertShortestRoute;
+
+class PointToPointTest {
+
+    @Test
+    void routesMatchDijkstra() {
+        Random random = new Random(19);
+        for (int round = 0; round < 60; round++) {
+            int n = 1 + random.nextInt(150);
+            // Small maxima give zero-weight edges, which leave A* without guidance.
+            int maxWeight = round % 2 == 0 ? 3 : 20_000;
+            check(RandomGraphs.multigraph(random, n, random.nextInt(3 * n + 1), maxWeight), random, 8);
+        }
+    }
+
+    @Test
+    void routesMatchDijkstraWithGeometricWeights() {
+        Random random = new Random(91);
+        for (int round = 0; round < 20; round++) {
+            int n = 2 + random.nextInt(400);
+            Graph graph = RandomGraphs.multigraph(random, n, 2 * n, 0);
+            // Weights at least the straight-line length, so the heuristic actually prunes.
+            for (int e = 0; e < graph.edgeLimit(); e++) {
+                int s = graph.source(e);
+                int t = graph.target(e);
+                int length = (int) Math.hypot(graph.x(s) - graph.x(t), graph.y(s) - graph.y(t));
+                graph.removeEdge(e);
+                graph.addEdge(s, t, length + random.nextInt(length + 1));
+            }
+            check(graph, random, 8);
+        }
+    }
+
+    private static void check(Graph graph, Random random, int pairs) {
+        CsrGraph csr = CsrGraph.of(graph);
+        int n = graph.vertexLimit();
+        int[] x = new int[n];
+        int[] y = new int[n];
+        for (int v = 0; v < n; v++) {
+            x[v] = graph.x(v);
+            y[v] = graph.y(v);
+        }
+        for (int pair = 0; pair < pairs; pair++) {
+            int source = random.nextInt(n);
+            int target = random.nextInt(n);
+            ShortestPaths expected = Dijkstra.run(csr, source);
+            assertShortestRoute(graph, expected, target, AStar.run(csr, x, y, source, target));
+            assertShortestRoute(graph, expected, target, BidirectionalDijkstra.run(csr, source, target));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package visualizer.algorithms;
+
+import visualizer.graph.Graph;
+
+import java.util.Random;
+
+/**
+ * Random multigraphs for the tests: vertices at random positions, and edges between random pairs of
+ * distinct vertices, so parallel edges occur as soon as the graph is dense enough. Weights are drawn
+ * from {@code [0, maxWeight]}, which makes zero-weight edges common for small maxima.
+ */
+final class RandomGraphs {
+
+    private RandomGraphs() {
+    }
+
+    static Graph multigraph(Random random, int vertexCount, int edgeCount, int maxWeight) {
+        int[] x = new int[vertexCount];
+        int[] y = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            x[v] = random.nextInt(10_000);
+            y[v] = random.nextInt(10_000);
+        }
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        for (int e = 0; e < edgeCount && vertexCount > 1; e++) {
+            sources[e] = random.nextInt(vertexCount);
+            targets[e] = (sources[e] + 1 + random.nextInt(vertexCount - 1)) % vertexCount;
+            weights[e] = random.nextInt(maxWeight + 1);
+        }
+        return Graph.of(x, y, new String[vertexCount], sources, targets, weights);
+    }
+}
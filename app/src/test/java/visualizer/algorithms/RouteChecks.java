@@ -0,0 +1,40 @@
+package visualizer.algorithms;
+
+import visualizer.graph.Graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Assertions shared by the tests of the point-to-point engines. */
+final class RouteChecks {
+
+    private RouteChecks() {
+    }
+
+    /**
+     * Checks that {@code route} is a path of {@code graph} from the source of {@code expected} to
+     * {@code target} whose length is the Dijkstra distance, or that it is absent if the target is
+     * unreachable.
+     */
+    static void assertShortestRoute(Graph graph, ShortestPaths expected, int target, Route route) {
+        String pair = expected.source() + " -> " + target;
+        if (!expected.reached(target)) {
+            assertFalse(route.found(), "route " + pair);
+            assertEquals(0, route.vertexCount(), "route " + pair);
+            return;
+        }
+        assertTrue(route.found(), "route " + pair);
+        assertEquals(expected.distance(target), route.distance(), "distance " + pair);
+        assertEquals(expected.source(), route.vertex(0), "first vertex of " + pair);
+        assertEquals(target, route.vertex(route.vertexCount() - 1), "last vertex of " + pair);
+        long length = 0;
+        for (int i = 0; i + 1 < route.vertexCount(); i++) {
+            int e = route.edge(i);
+            assertTrue(graph.containsEdge(e), "edge " + e + " on " + pair);
+            assertEquals(route.vertex(i + 1), graph.opposite(e, route.vertex(i)), "edge " + e + " on " + pair);
+            length += graph.weight(e);
+        }
+        assertEquals(route.distance(), length, "length of " + pair);
+    }
+}
@@ -0,0 +1,142 @@
+package visualizer.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EditLogTest {
+
+    @Test
+    void undoAndRedoRestoreTheSameIds() {
+        Random random = new Random(23);
+        for (int round = 0; round < 20; round++) {
+            Graph graph = new Graph();
+            EditLog log = new EditLog(graph);
+            // states.get(current) is what the graph must look like; undo and redo move along the list.
+            List<String> states = new ArrayList<>();
+            states.add(describe(graph));
+            int current = 0;
+            for (int step = 0; step < 400; step++) {
+                int choice = random.nextInt(10);
+                if (choice < 2 && log.canUndo()) {
+                    log.undo();
+                    current--;
+                } else if (choice < 3 && log.canRedo()) {
+                    log.redo();
+                    current++;
+                } else {
+                    int before = log.size();
+                    edit(graph, log, random);
+                    if (log.size() > before) {
+                        states.subList(current + 1, states.size()).clear();
+                        states.add(describe(graph));
+                        current++;
+                        assertFalse(log.canRedo(), "redo after a new edit");
+                    }
+                }
+                assertEquals(states.get(current), describe(graph), "state after step " + step);
+            }
+            while (log.canUndo()) {
+                log.undo();
+                current--;
+                assertEquals(states.get(current), describe(graph), "state after undoing to " + current);
+            }
+            assertEquals(0, current);
+            while (log.canRedo()) {
+                log.redo();
+                current++;
+                assertEquals(states.get(current), describe(graph), "state after redoing to " + current);
+            }
+            assertEquals(states.size() - 1, current);
+        }
+    }
+
+    @Test
+    void clearForgetsHistory() {
+        Graph graph = new Graph();
+        EditLog log = new EditLog(graph);
+        int a = log.addVertex(0, 0, null);
+        int b = log.addVertex(10, 0, null);
+        log.addEdge(a, b, 3);
+        int position = log.size();
+        log.clear();
+        assertFalse(log.canUndo());
+        assertEquals(position + 1, log.firstRecord());
+        assertThrows(IllegalStateException.class, log::undo);
+    }
+
+    /** One random edit or a transaction of a few, made through the log. */
+    private static void edit(Graph graph, EditLog log, Random random) {
+        boolean transaction = random.nextInt(4) == 0;
+        if (transaction) {
+            log.begin();
+        }
+        try {
+            for (int i = transaction ? 1 + random.nextInt(4) : 1; i > 0; i--) {
+                int choice = random.nextInt(10);
+                if (choice < 3 || graph.vertexCount() < 2) {
+                    String label = random.nextInt(3) == 0 ? "v" + random.nextInt(1 << 30) : null;
+                    if (label == null || graph.vertexOf(label) < 0) {
+                        log.addVertex(random.nextInt(1000), random.nextInt(1000), label);
+                    }
+                } else if (choice < 4) {
+                    log.removeVertex(randomVertex(graph, random));
+                } else if (choice < 8) {
+                    int source = randomVertex(graph, random);
+                    int target = randomVertex(graph, random);
+                    if (source != target) {
+                        log.addEdge(source, target, random.nextInt(100));
+                    }
+                } else if (graph.edgeCount() > 0) {
+                    log.removeEdge(randomEdge(graph, random));
+                }
+            }
+        } finally {
+            if (transaction) {
+                log.commit();
+            }
+        }
+    }
+
+    private static int randomVertex(Graph graph, Random random) {
+        while (true) {
+            int v = random.nextInt(graph.vertexLimit());
+            if (graph.containsVertex(v)) {
+                return v;
+            }
+        }
+    }
+
+    private static int randomEdge(Graph graph, Random random) {
+        while (true) {
+            int e = random.nextInt(graph.edgeLimit());
+            if (graph.containsEdge(e)) {
+                return e;
+            }
+        }
+    }
+
+    /** Every live vertex and edge with its id and data, in id order. */
+    private static String describe(Graph graph) {
+        StringBuilder text = new StringBuilder();
+        for (int v = 0; v < graph.vertexLimit(); v++) {
+            if (graph.containsVertex(v)) {
+                text.append('v').append(v).append('(').append(graph.x(v)).append(',').append(graph.y(v))
+                        .append(',').append(graph.hasOwnLabel(v) ? graph.label(v) : "-").append(") ");
+            }
+        }
+        for (int e = 0; e < graph.edgeLimit(); e++) {
+            if (graph.containsEdge(e)) {
+                text.append('e').append(e).append('(').append(graph.source(e)).append(',').append(graph.target(e))
+                        .append(',').append(graph.weight(e)).append(") ");
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package visualizer.graph.io;
+
+import org.junit.jupiter.api.Test;
+import visualizer.graph.Graph;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GraphFilesTest {
+
+    @Test
+    void edgeListCommentMayHoldHighBytes() throws IOException {
+        Graph graph = GraphFiles.readEdgeList(reader("% caf", 0xFF, 0xE9, "\n0 1 4\n1 2 5\n"));
+        assertEquals(3, graph.vertexCount());
+        assertEquals(2, graph.edgeCount());
+        assertEquals(9, graph.weight(0) + graph.weight(1));
+    }
+
+    @Test
+    void dimacsCommentMayHoldHighBytes() throws IOException {
+        Graph graph = GraphFiles.readDimacs(reader("c ", 0xFF, 0xFE, "\np sp 3 2\na 1 2 4\na 2 3 5\n"));
+        assertEquals(3, graph.vertexCount());
+        assertEquals(2, graph.edgeCount());
+    }
+
+    /** A reader over the given text pieces and raw byte values, in order. */
+    private static TokenReader reader(Object... parts) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (Object part : parts) {
+            if (part instanceof String text) {
+                bytes.writeBytes(text.getBytes(StandardCharsets.US_ASCII));
+            } else {
+                bytes.write((Integer) part);
+            }
+        }
+        return new TokenReader(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+}
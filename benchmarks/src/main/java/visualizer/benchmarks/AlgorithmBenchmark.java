@@ -0,0 +1,83 @@
+package visualizer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import visualizer.algorithms.Biconnectivity;
+import visualizer.algorithms.BreadthFirstSearch;
+import visualizer.algorithms.Components;
+import visualizer.algorithms.ConnectedComponents;
+import visualizer.algorithms.Cuts;
+import visualizer.algorithms.DepthFirstSearch;
+import visualizer.algorithms.Dijkstra;
+import visualizer.algorithms.Kruskal;
+import visualizer.algorithms.ParallelBreadthFirstSearch;
+import visualizer.algorithms.Prim;
+import visualizer.algorithms.ShortestPaths;
+import visualizer.algorithms.SpanningTree;
+import visualizer.algorithms.Traversal;
+import visualizer.graph.CsrGraph;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The engines behind the Algorithms menu with animation disabled, i.e. with the no-op step
+ * listener, plus the adjacency snapshot every run starts from. Run with {@code -prof gc} to see the
+ * allocation rate next to the throughput.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlgorithmBenchmark {
+
+    @Benchmark
+    public CsrGraph adjacencySnapshot(GeneratedGraph state) {
+        return CsrGraph.of(state.graph);
+    }
+
+    @Benchmark
+    public Traversal breadthFirstSearch(GeneratedGraph state) {
+        return BreadthFirstSearch.run(state.csr, 0);
+    }
+
+    @Benchmark
+    public Traversal parallelBreadthFirstSearch(GeneratedGraph state) {
+        return ParallelBreadthFirstSearch.run(state.csr, 0);
+    }
+
+    @Benchmark
+    public Traversal depthFirstSearch(GeneratedGraph state) {
+        return DepthFirstSearch.run(state.csr, 0);
+    }
+
+    @Benchmark
+    public ShortestPaths dijkstra(GeneratedGraph state) {
+        return Dijkstra.run(state.csr, 0);
+    }
+
+    @Benchmark
+    public SpanningTree prim(GeneratedGraph state) {
+        return Prim.run(state.csr, 0);
+    }
+
+    @Benchmark
+    public SpanningTree kruskal(GeneratedGraph state) {
+        return Kruskal.run(state.csr);
+    }
+
+    @Benchmark
+    public Components connectedComponents(GeneratedGraph state) {
+        return ConnectedComponents.run(state.csr);
+    }
+
+    @Benchmark
+    public Cuts bridgesAndArticulationPoints(GeneratedGraph state) {
+        return Biconnectivity.run(state.csr);
+    }
+}
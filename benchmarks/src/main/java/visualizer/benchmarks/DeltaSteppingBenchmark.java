@@ -0,0 +1,49 @@
+package visualizer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import visualizer.algorithms.DeltaStepping;
+import visualizer.algorithms.ShortestPaths;
+import visualizer.algorithms.StepListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delta-stepping with bucket widths scaled from the default, to compare against
+ * {@link AlgorithmBenchmark#dijkstra}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeltaSteppingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Delta {
+        @Param({"0.25", "1", "4"})
+        public double factor;
+
+        int delta;
+
+        @Setup(Level.Trial)
+        public void setUp(GeneratedGraph state) {
+            delta = (int) Math.max(1, Math.round(DeltaStepping.defaultDelta(state.csr) * factor));
+        }
+    }
+
+    @Benchmark
+    public ShortestPaths deltaStepping(GeneratedGraph state, Delta delta) {
+        return DeltaStepping.run(state.csr, 0, delta.delta, StepListener.NONE);
+    }
+}
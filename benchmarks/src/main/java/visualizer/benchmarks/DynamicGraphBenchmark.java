@@ -0,0 +1,159 @@
+package visualizer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import visualizer.algorithms.Dijkstra;
+import visualizer.algorithms.DynamicComponents;
+import visualizer.algorithms.DynamicShortestPaths;
+import visualizer.algorithms.DynamicSpanningForest;
+import visualizer.algorithms.Kruskal;
+import visualizer.algorithms.ShortestPaths;
+import visualizer.algorithms.SpanningTree;
+import visualizer.graph.CsrGraph;
+import visualizer.graph.EditLog;
+import visualizer.graph.Graph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shortest paths from vertex 0, the minimum spanning forest and the connected components after an
+ * edge insertion: updated in place from the edit log, against a full run on a fresh adjacency
+ * snapshot. Every invocation inserts {@value #EDITS} edges, each between a random vertex and a
+ * vertex two hops away like an edit made by hand, and the teardown undoes them again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicGraphBenchmark {
+    private static final int EDITS = 16;
+
+    @State(Scope.Thread)
+    public static class Edits {
+        Graph graph;
+        EditLog log;
+        DynamicShortestPaths paths;
+        DynamicSpanningForest forest;
+        DynamicComponents components;
+        final int[] sources = new int[EDITS];
+        final int[] targets = new int[EDITS];
+        final int[] weights = new int[EDITS];
+        final Random random = new Random(GeneratedGraph.SEED);
+
+        @Setup(Level.Trial)
+        public void setUp(GeneratedGraph state) {
+            graph = state.graph;
+            log = new EditLog(graph);
+            paths = DynamicShortestPaths.compute(graph, 0, log.size());
+            forest = DynamicSpanningForest.compute(graph, log.size());
+            components = new DynamicComponents(graph, log.size());
+        }
+
+        @Setup(Level.Invocation)
+        public void pickEdges() {
+            for (int i = 0; i < EDITS; i++) {
+                int u;
+                do {
+                    u = random.nextInt(graph.vertexLimit());
+                } while (!graph.containsVertex(u));
+                int v = u;
+                for (int hop = 0; hop < 2 && graph.degree(v) > 0; hop++) {
+                    v = graph.opposite(graph.incidentEdge(v, random.nextInt(graph.degree(v))), v);
+                }
+                sources[i] = u;
+                targets[i] = v;
+                weights[i] = GraphShape.weight(random);
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void undoEdges() {
+            while (log.canUndo()) {
+                log.undo();
+            }
+            paths.update(log);
+            forest.update(log);
+            components.update(log);
+        }
+
+        void insert(int i) {
+            log.addEdge(sources[i], targets[i], weights[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EDITS)
+    public DynamicShortestPaths shortestPathsUpdate(Edits edits) {
+        for (int i = 0; i < EDITS; i++) {
+            edits.insert(i);
+            edits.paths.update(edits.log);
+        }
+        return edits.paths;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EDITS)
+    public ShortestPaths shortestPathsRerun(Edits edits) {
+        ShortestPaths result = null;
+        for (int i = 0; i < EDITS; i++) {
+            edits.insert(i);
+            result = Dijkstra.run(CsrGraph.of(edits.graph), 0);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EDITS)
+    public DynamicSpanningForest spanningForestUpdate(Edits edits) {
+        for (int i = 0; i < EDITS; i++) {
+            edits.insert(i);
+            edits.forest.update(edits.log);
+        }
+        return edits.forest;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EDITS)
+    public SpanningTree spanningForestRerun(Edits edits) {
+        SpanningTree result = null;
+        for (int i = 0; i < EDITS; i++) {
+            edits.insert(i);
+            result = Kruskal.run(CsrGraph.of(edits.graph));
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EDITS)
+    public DynamicComponents componentsUpdate(Edits edits) {
+        for (int i = 0; i < EDITS; i++) {
+            edits.insert(i);
+            edits.components.update(edits.log);
+        }
+        return edits.components;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EDITS)
+    public DynamicComponents componentsRerun(Edits edits) {
+        DynamicComponents result = null;
+        for (int i = 0; i < EDITS; i++) {
+            edits.insert(i);
+            result = new DynamicComponents(edits.graph, edits.log.size());
+        }
+        return result;
+    }
+}
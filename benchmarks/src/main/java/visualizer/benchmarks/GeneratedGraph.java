@@ -0,0 +1,30 @@
+package visualizer.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import visualizer.graph.CsrGraph;
+import visualizer.graph.Graph;
+
+/** One generated graph per shape and size, shared by all benchmarks of a trial. */
+@State(Scope.Benchmark)
+public class GeneratedGraph {
+    static final long SEED = 42;
+
+    @Param({"RANDOM", "GRID", "SCALE_FREE", "PATH"})
+    public GraphShape shape;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    public Graph graph;
+    public CsrGraph csr;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = shape.generate(size, SEED);
+        csr = CsrGraph.of(graph);
+    }
+}
@@ -0,0 +1,98 @@
+package visualizer.benchmarks;
+
+import visualizer.graph.Graph;
+
+import java.util.Random;
+
+/**
+ * Synthetic graph families for the benchmarks. Every generator is seeded, gives vertices positions
+ * spread over a square of about 80 units per vertex row, and draws weights uniformly from 1 to 100.
+ */
+public enum GraphShape {
+    /** Erdos-Renyi G(n, p) with p chosen for an average degree of 8, sampled by geometric skips. */
+    RANDOM {
+        @Override
+        void addEdges(Graph graph, int n, Random random) {
+            double p = Math.min(1, AVERAGE_DEGREE / (double) (n - 1));
+            double logQ = Math.log(1 - p);
+            // Batagelj-Brandes: jump straight to the next present pair (v, w) with w < v.
+            int v = 1;
+            int w = -1;
+            while (v < n) {
+                w += 1 + (int) Math.floor(Math.log(1 - random.nextDouble()) / logQ);
+                while (w >= v && v < n) {
+                    w -= v;
+                    v++;
+                }
+                if (v < n) {
+                    graph.addEdge(v, w, weight(random));
+                }
+            }
+        }
+    },
+    /** Square grid with every vertex joined to its right and lower neighbour. */
+    GRID {
+        @Override
+        void addEdges(Graph graph, int n, Random random) {
+            int side = side(n);
+            for (int v = 0; v < n; v++) {
+                if (v % side + 1 < side && v + 1 < n) {
+                    graph.addEdge(v, v + 1, weight(random));
+                }
+                if (v + side < n) {
+                    graph.addEdge(v, v + side, weight(random));
+                }
+            }
+        }
+    },
+    /** Barabasi-Albert preferential attachment, every new vertex bringing four edges. */
+    SCALE_FREE {
+        @Override
+        void addEdges(Graph graph, int n, Random random) {
+            int edgesPerVertex = AVERAGE_DEGREE / 2;
+            int[] endpoints = new int[2 * edgesPerVertex * n];
+            int endpointCount = 0;
+            for (int v = 1; v < n; v++) {
+                for (int i = 0; i < Math.min(v, edgesPerVertex); i++) {
+                    int target = endpointCount == 0 ? 0 : endpoints[random.nextInt(endpointCount)];
+                    graph.addEdge(v, target, weight(random));
+                    endpoints[endpointCount++] = v;
+                    endpoints[endpointCount++] = target;
+                }
+            }
+        }
+    },
+    /** Simple path through all vertices, the worst case for traversal depth. */
+    PATH {
+        @Override
+        void addEdges(Graph graph, int n, Random random) {
+            for (int v = 0; v + 1 < n; v++) {
+                graph.addEdge(v, v + 1, weight(random));
+            }
+        }
+    };
+
+    static final int AVERAGE_DEGREE = 8;
+    static final int SPACING = 80;
+
+    public Graph generate(int n, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph();
+        int side = side(n);
+        for (int v = 0; v < n; v++) {
+            graph.addVertex(v % side * SPACING, v / side * SPACING, null);
+        }
+        addEdges(graph, n, random);
+        return graph;
+    }
+
+    abstract void addEdges(Graph graph, int n, Random random);
+
+    static int side(int n) {
+        return Math.max(1, (int) Math.ceil(Math.sqrt(n)));
+    }
+
+    static int weight(Random random) {
+        return 1 + random.nextInt(100);
+    }
+}
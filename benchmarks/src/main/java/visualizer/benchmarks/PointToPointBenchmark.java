@@ -0,0 +1,69 @@
+package visualizer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import visualizer.algorithms.AStar;
+import visualizer.algorithms.BidirectionalDijkstra;
+import visualizer.algorithms.Dijkstra;
+import visualizer.algorithms.Route;
+import visualizer.algorithms.ShortestPaths;
+import visualizer.graph.Graph;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One shortest path between the first and the last generated vertex, by Dijkstra stopping at the
+ * target, A* and bidirectional Dijkstra.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointToPointBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Endpoints {
+        int[] x;
+        int[] y;
+        int target;
+
+        @Setup(Level.Trial)
+        public void setUp(GeneratedGraph state) {
+            Graph graph = state.graph;
+            x = new int[graph.vertexLimit()];
+            y = new int[graph.vertexLimit()];
+            for (int v = 0; v < graph.vertexLimit(); v++) {
+                if (graph.containsVertex(v)) {
+                    x[v] = graph.x(v);
+                    y[v] = graph.y(v);
+                    target = v;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public ShortestPaths dijkstra(GeneratedGraph state, Endpoints endpoints) {
+        return Dijkstra.run(state.csr, 0, endpoints.target);
+    }
+
+    @Benchmark
+    public Route aStar(GeneratedGraph state, Endpoints endpoints) {
+        return AStar.run(state.csr, endpoints.x, endpoints.y, 0, endpoints.target);
+    }
+
+    @Benchmark
+    public Route bidirectionalDijkstra(GeneratedGraph state, Endpoints endpoints) {
+        return BidirectionalDijkstra.run(state.csr, 0, endpoints.target);
+    }
+}
@@ -0,0 +1,86 @@
+package visualizer.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import visualizer.customComponents.ElementState;
+import visualizer.customComponents.GraphCanvas;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repaints of the canvas into an offscreen image, zoomed to fit the whole graph or at actual size
+ * around the centre of the graph: a repaint of an unchanged view, an animation frame that
+ * highlights or clears one edge, and a frame of a pan by one pixel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 800;
+
+    @State(Scope.Benchmark)
+    public static class Canvas {
+        @Param({"FIT", "ACTUAL"})
+        public String zoom;
+
+        GraphCanvas canvas;
+        BufferedImage image;
+        int edge;
+        int frame;
+
+        @Setup(Level.Trial)
+        public void setUp(GeneratedGraph state) {
+            canvas = new GraphCanvas(state.graph);
+            canvas.setSize(WIDTH, HEIGHT);
+            canvas.zoomToFit();
+            if (zoom.equals("ACTUAL")) {
+                canvas.zoomAt(WIDTH / 2, HEIGHT / 2, 1 / canvas.getScale());
+            }
+            image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+            edge = 0;
+            while (!state.graph.containsEdge(edge)) {
+                edge++;
+            }
+        }
+    }
+
+    @Benchmark
+    public BufferedImage paint(Canvas state) {
+        return paintInto(state);
+    }
+
+    @Benchmark
+    public BufferedImage animationFrame(Canvas state) {
+        state.canvas.setEdgeState(state.edge, state.frame++ % 2 == 0 ? ElementState.SELECTED : ElementState.DEFAULT);
+        return paintInto(state);
+    }
+
+    @Benchmark
+    public BufferedImage panFrame(Canvas state) {
+        state.canvas.panBy(state.frame++ % 2 == 0 ? 1 : -1, 0);
+        return paintInto(state);
+    }
+
+    private static BufferedImage paintInto(Canvas state) {
+        Graphics2D g = state.image.createGraphics();
+        g.setClip(0, 0, WIDTH, HEIGHT);
+        state.canvas.paint(g);
+        g.dispose();
+        return state.image;
+    }
+}
@@ -3,8 +3,16 @@ package visualizer;
 public enum AlgorithmMode {
     DFS("Depth-First Search"),
     BSF("Breadth-First Search"),
+    PARALLEL_BFS("Parallel Breadth-First Search"),
     DIJKSTRA("Dijkstra's Algorithm"),
-    PRIM("Prim's Algorithm");
+    DELTA_STEPPING("Delta-Stepping Shortest Paths"),
+    A_STAR("A* Search"),
+    BIDIRECTIONAL_DIJKSTRA("Bidirectional Dijkstra"),
+    CONTRACTION_HIERARCHY("Contraction Hierarchy Query"),
+    PRIM("Prim's Algorithm"),
+    KRUSKAL("Kruskal's Algorithm"),
+    CONNECTED_COMPONENTS("Connected Components"),
+    BRIDGES("Bridges and Articulation Points");
 
     public final String label;
 
@@ -1,54 +1,148 @@
 package visualizer;
 
-import visualizer.customComponents.Vertex;
-import visualizer.customComponents.WeightedEdge;
+import visualizer.algorithms.AStar;
+import visualizer.algorithms.BidirectionalDijkstra;
+import visualizer.algorithms.Biconnectivity;
+import visualizer.algorithms.BreadthFirstSearch;
+import visualizer.algorithms.Components;
+import visualizer.algorithms.ConnectedComponents;
+import visualizer.algorithms.ContractionHierarchy;
+import visualizer.algorithms.DeltaStepping;
+import visualizer.algorithms.Cuts;
+import visualizer.algorithms.DepthFirstSearch;
+import visualizer.algorithms.DynamicComponents;
+import visualizer.algorithms.DynamicResult;
+import visualizer.algorithms.DynamicShortestPaths;
+import visualizer.algorithms.DynamicSpanningForest;
+import visualizer.algorithms.HierarchyFiles;
+import visualizer.algorithms.Kruskal;
+import visualizer.algorithms.OperationCounter;
+import visualizer.algorithms.ParallelBreadthFirstSearch;
+import visualizer.algorithms.Prim;
+import visualizer.algorithms.Route;
+import visualizer.algorithms.ShortestPathCache;
+import visualizer.algorithms.ShortestPaths;
+import visualizer.algorithms.SpanningTree;
+import visualizer.algorithms.StepKind;
+import visualizer.algorithms.StepListener;
+import visualizer.algorithms.Traversal;
+import visualizer.animation.AlgorithmRunner;
+import visualizer.animation.AnimationMode;
+import visualizer.animation.AnimationScheduler;
+import visualizer.customComponents.ElementState;
+import visualizer.customComponents.GraphCanvas;
+import visualizer.graph.CsrGraph;
+import visualizer.graph.EditLog;
+import visualizer.graph.Graph;
+import visualizer.graph.io.GraphFiles;
+import visualizer.graph.io.GraphFormat;
+import visualizer.layout.ForceLayout;
+import visualizer.metrics.Metrics;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class MainFrame extends JFrame {
 
     public final int APP_WIDTH = 800;
     public final int APP_HEIGHT = 600;
 
+    private static final int STEP_QUEUE_CAPACITY = 4096;
+    private static final int COALESCE_FRAMES_PER_SECOND = 30;
+    private static final int SHORTEST_PATH_CACHE_SIZE = 64;
+    private static final int METRICS_REFRESH_MILLIS = 500;
+    private static final int LISTED_CUTS = 20;
+
     public Mode currentMode = Mode.VERTEX;
 
     private final JLabel currentModeLabel = new JLabel();
 
     private final JLabel displayLabel = new JLabel();
 
-    private final JPanel graphPanel = new JPanel();
+    private final JLabel metricsLabel = new JLabel();
+
+    private final Metrics metrics = new Metrics();
+
+    private final javax.swing.Timer metricsTimer =
+            new javax.swing.Timer(METRICS_REFRESH_MILLIS, e -> metricsLabel.setText(metrics.summary()));
+
+    private final List<Integer> verticesForEdge = new ArrayList<>();
 
-    private final List<Vertex> verticesForEdge = new ArrayList<>();
 
-    private final HashSet<String> vertexNames = new HashSet<>();
+    private final Graph graph = new Graph();
 
-    private final HashSet<WeightedEdge> graphEdges = new HashSet<>();
-    private final HashSet<Vertex> graphVertices = new HashSet<>();
+    private final GraphCanvas graphPanel = new GraphCanvas(graph);
 
-    private final HashSet<WeightedEdge> visitedEdges = new LinkedHashSet<>();
+    private final EditLog edits = new EditLog(graph);
 
-    private final HashSet<Vertex> visitedVertices = new LinkedHashSet<>();
+    private final JMenuItem undoItem = new JMenuItem("Undo");
+
+    private final JMenuItem redoItem = new JMenuItem("Redo");
 
     private AlgorithmMode algorithmMode;
 
+    private AnimationMode animationMode = AnimationMode.FIXED_RATE;
+
+    private final StepListener canvasSteps = this::applyStep;
+
+    private final AnimationScheduler animationScheduler = new AnimationScheduler(canvasSteps, this::refreshStates);
+
+    private final AlgorithmRunner algorithmRunner =
+            new AlgorithmRunner(animationScheduler, canvasSteps, this::refreshStates, STEP_QUEUE_CAPACITY, metrics);
+
+    private final ShortestPathCache shortestPathCache = new ShortestPathCache(SHORTEST_PATH_CACHE_SIZE);
+
+    private CsrGraph snapshot;
+
+    private int snapshotVersion;
+
+    private int routeSource = -1;
+
+    private DynamicResult liveResult;
+
+    private String liveResultName;
+
+    private SwingWorker<int[][], int[][]> layoutWorker;
+
+    private int layoutModCount;
+
+    private ContractionHierarchy hierarchy;
+
+    private int hierarchyVersion;
+
+    private SwingWorker<ContractionHierarchy, Integer> hierarchyWorker;
+
     public MainFrame() {
         super("Graph-Algorithms Visualizer");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(APP_WIDTH, APP_HEIGHT);
         setLocationRelativeTo(null);
-        setResizable(false);
         initComponents();
         setVisible(true);
         setLayout(null);
+        layoutComponents();
+        getContentPane().addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                layoutComponents();
+            }
+        });
     }
 
     private void initComponents() {
@@ -57,290 +151,621 @@ public class MainFrame extends JFrame {
         updateCurrentModeLabel();
 
         graphPanel.setName("Graph");
-        graphPanel.setBackground(Color.BLACK);
-        graphPanel.setLayout(null);
         graphPanel.addMouseListener(graphMouseListener);
+        graphPanel.setPaintTimeListener(metrics::recordPaint);
+        metrics.start();
+        metrics.register();
+
+        metricsLabel.setName("Metrics");
+        metricsLabel.setForeground(Color.WHITE);
+        metricsLabel.setHorizontalAlignment(SwingConstants.RIGHT);
+        metricsLabel.setVisible(false);
 
         currentModeLabel.setName(Mode.class.getSimpleName());
         currentModeLabel.setForeground(Color.WHITE);
-        currentModeLabel.setBounds(580, 0, 200, 30);
         currentModeLabel.setHorizontalAlignment(SwingConstants.RIGHT);
 
         displayLabel.setName("Display");
         displayLabel.setForeground(Color.WHITE);
-        displayLabel.setBounds(0, APP_HEIGHT - 100, APP_WIDTH, 30);
         displayLabel.setHorizontalAlignment(SwingConstants.CENTER);
 
         add(currentModeLabel);
+        add(metricsLabel);
         add(displayLabel);
         add(graphPanel);
     }
 
+    private void layoutComponents() {
+        int width = getContentPane().getWidth();
+        int height = getContentPane().getHeight();
+        graphPanel.setBounds(0, 0, width, height);
+        currentModeLabel.setBounds(width - 220, 0, 200, 30);
+        metricsLabel.setBounds(0, 0, Math.max(0, width - 230), 30);
+        displayLabel.setBounds(0, height - 50, width, 30);
+    }
+
     private void resetGraph() {
-        graphPanel.removeAll();
+        stopLayout();
+        stopContraction();
         verticesForEdge.clear();
-        vertexNames.clear();
-        graphEdges.clear();
-        graphVertices.clear();
+        graph.clear();
+        edits.clear();
+        updateEditItems();
         clearSelectedVerticesAndEdges();
         currentMode = Mode.VERTEX;
         updateCurrentModeLabel();
     }
 
+    private JFileChooser createGraphFileChooser() {
+        JFileChooser chooser = new JFileChooser();
+        for (GraphFormat format : GraphFormat.values()) {
+            chooser.addChoosableFileFilter(new FileNameExtensionFilter(
+                    format.label + " (*." + format.extension + ")", format.extension));
+        }
+        return chooser;
+    }
+
+    private void openGraph() {
+        JFileChooser chooser = createGraphFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path path = chooser.getSelectedFile().toPath();
+        algorithmRunner.cancel();
+        stopLayout();
+        displayLabel.setText("Loading " + path.getFileName() + "...");
+        new SwingWorker<Graph, Void>() {
+            private ContractionHierarchy loadedHierarchy;
+            private String hierarchyProblem;
+
+            @Override
+            protected Graph doInBackground() throws IOException {
+                Graph loaded = GraphFiles.read(path);
+                Path sidecar = HierarchyFiles.sidecar(path);
+                if (Files.exists(sidecar)) {
+                    try {
+                        loadedHierarchy = HierarchyFiles.read(sidecar, loaded, CsrGraph.of(loaded));
+                    } catch (IOException ex) {
+                        hierarchyProblem = ex.getMessage();
+                    }
+                }
+                return loaded;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    Graph loaded = get();
+                    resetGraph();
+                    graph.moveFrom(loaded);
+                    hierarchy = loadedHierarchy;
+                    hierarchyVersion = graph.version();
+                    graphPanel.zoomToFit();
+                    String text = "Loaded " + graph.vertexCount() + " vertices and " + graph.edgeCount() + " edges";
+                    if (loadedHierarchy != null) {
+                        text += " with their contraction hierarchy";
+                    } else if (hierarchyProblem != null) {
+                        text += " (" + hierarchyProblem + ")";
+                    }
+                    displayLabel.setText(text);
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+                    displayLabel.setText("");
+                    JOptionPane.showMessageDialog(MainFrame.this, "Cannot open " + path.getFileName() + ": "
+                            + cause.getMessage(), "Open", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void saveGraph() {
+        JFileChooser chooser = createGraphFileChooser();
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path path = chooser.getSelectedFile().toPath();
+        if (!path.getFileName().toString().contains(".")
+                && chooser.getFileFilter() instanceof FileNameExtensionFilter filter) {
+            path = path.resolveSibling(path.getFileName() + "." + filter.getExtensions()[0]);
+        }
+        try {
+            GraphFiles.write(graph, path);
+            if (hasHierarchy()) {
+                HierarchyFiles.write(hierarchy, graph, HierarchyFiles.sidecar(path));
+            }
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Cannot save " + path.getFileName() + ": " + ex.getMessage(),
+                    "Save", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void startLayout() {
+        stopLayout();
+        if (graph.vertexCount() < 2) {
+            return;
+        }
+        ForceLayout layout = new ForceLayout(graph);
+        int limit = graph.vertexLimit();
+        int centreX = graphPanel.toWorldX(graphPanel.getWidth() / 2);
+        int centreY = graphPanel.toWorldY(graphPanel.getHeight() / 2);
+        layoutModCount = graph.modCount();
+        displayLabel.setText("Laying out " + graph.vertexCount() + " vertices...");
+        layoutWorker = new SwingWorker<>() {
+            @Override
+            protected int[][] doInBackground() {
+                int[][] positions;
+                boolean moving;
+                do {
+                    moving = layout.step();
+                    positions = new int[2][limit];
+                    layout.copyPositions(centreX, centreY, positions[0], positions[1]);
+                    publish(positions);
+                } while (moving && !isCancelled());
+                return positions;
+            }
+
+            @Override
+            protected void process(List<int[][]> chunks) {
+                if (layoutWorker == this) {
+                    applyLayout(chunks.get(chunks.size() - 1));
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (layoutWorker != this || isCancelled()) {
+                    return;
+                }
+                try {
+                    applyLayout(get());
+                    displayLabel.setText("Layout finished after " + layout.iterations() + " iterations");
+                } catch (InterruptedException | ExecutionException ex) {
+                    displayLabel.setText("Layout failed: " + ex.getMessage());
+                }
+                layoutWorker = null;
+            }
+        };
+        layoutWorker.execute();
+    }
+
+    private void applyLayout(int[][] positions) {
+        // Any edit made while the layout was running invalidates its snapshot.
+        if (graph.modCount() != layoutModCount) {
+            stopLayout();
+            displayLabel.setText("");
+            return;
+        }
+        for (int v = 0; v < graph.vertexLimit(); v++) {
+            if (graph.containsVertex(v)) {
+                graph.setPosition(v, positions[0][v], positions[1][v]);
+            }
+        }
+        layoutModCount = graph.modCount();
+        graphPanel.zoomToFit();
+    }
+
+    private void stopLayout() {
+        if (layoutWorker != null) {
+            layoutWorker.cancel(true);
+            layoutWorker = null;
+        }
+    }
+
+    private void startContraction() {
+        stopContraction();
+        CsrGraph csr = snapshot();
+        int version = graph.version();
+        displayLabel.setText("Contracting vertices... 0%");
+        hierarchyWorker = new SwingWorker<>() {
+            @Override
+            protected ContractionHierarchy doInBackground() {
+                return ContractionHierarchy.build(csr, this::publish);
+            }
+
+            @Override
+            protected void process(List<Integer> chunks) {
+                if (hierarchyWorker == this) {
+                    displayLabel.setText("Contracting vertices... " + chunks.get(chunks.size() - 1) + "%");
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (hierarchyWorker != this || isCancelled()) {
+                    return;
+                }
+                hierarchyWorker = null;
+                try {
+                    ContractionHierarchy built = get();
+                    if (graph.version() != version) {
+                        displayLabel.setText("The graph changed while it was being contracted");
+                        return;
+                    }
+                    hierarchy = built;
+                    hierarchyVersion = version;
+                    displayLabel.setText("Contraction hierarchy ready with " + built.shortcutCount() + " shortcuts");
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+                    displayLabel.setText(cause instanceof IllegalArgumentException
+                            ? "Contraction hierarchies need non-negative weights"
+                            : "Contraction failed: " + cause.getMessage());
+                }
+            }
+        };
+        hierarchyWorker.execute();
+    }
+
+    private void stopContraction() {
+        if (hierarchyWorker != null) {
+            hierarchyWorker.cancel(true);
+            hierarchyWorker = null;
+        }
+    }
+
+    /** Whether the contraction hierarchy still matches the vertices and edges of the graph. */
+    private boolean hasHierarchy() {
+        return hierarchy != null && hierarchyVersion == graph.version();
+    }
+
     private final MouseListener graphMouseListener = new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
-                if (currentMode == Mode.VERTEX) {
+                int clickedVertex = graphPanel.vertexAt(e.getX(), e.getY());
+                if (clickedVertex >= 0) {
+                    vertexClicked(clickedVertex);
+                } else if (currentMode == Mode.VERTEX) {
                     String vertexText = getVertexText();
 
                     if (vertexText != null) {
-                        Vertex vertex = new Vertex(e.getX(), e.getY(), vertexText);
-                        graphPanel.add(vertex);
-                        vertexNames.add(vertexText);
-                        graphVertices.add(vertex);
+                        edits.addVertex(graphPanel.toWorldX(e.getX()), graphPanel.toWorldY(e.getY()), vertexText);
+                        refreshGraph();
+                    }
+                } else if (currentMode == Mode.REMOVE_EDGE) {
+                    int clickedEdge = graphPanel.edgeAt(e.getX(), e.getY());
+                    if (clickedEdge >= 0) {
+                        edits.removeEdge(clickedEdge);
                         refreshGraph();
-
-                        vertex.addMouseListener(vertexMouseListener);
                     }
                 }
             }
         };
 
-    MouseListener edgeMouseListener = new MouseAdapter() {
-        @Override
-        public void mouseClicked(MouseEvent e) {
-            if (currentMode == Mode.REMOVE_EDGE) {
-                WeightedEdge.Edge clickedEdge = (WeightedEdge.Edge) e.getSource();
-                WeightedEdge weightedEdge = clickedEdge.getParentEdge();
-                removeWeightedEdgeComponents(weightedEdge);
-                refreshGraph();
-            }
-        }
-    };
-
-    MouseListener vertexMouseListener = new MouseAdapter() {
-        @Override
-        public void mouseClicked(MouseEvent e) {
-            Vertex clickedVertex = (Vertex) e.getSource();
-            if (currentMode == Mode.EDGE) {
-                if (verticesForEdge.contains(clickedVertex)) {
-                    clickedVertex.setDefaultColor();
-                    refreshGraph();
-                    verticesForEdge.remove(clickedVertex);
-                } else {
-                    clickedVertex.setSelectedColor();
-                    refreshGraph();
-                    verticesForEdge.add(clickedVertex);
-                    if (verticesForEdge.size() == 2) {
-                        Integer edgeWeight = getEdgeWeight();
-
-                        if (edgeWeight != null) {
-                            WeightedEdge weightedEdge = new WeightedEdge(verticesForEdge.get(0), verticesForEdge.get(1), edgeWeight);
-                            graphEdges.add(weightedEdge);
-                            weightedEdge.addMouseListener(edgeMouseListener);
-
-                            WeightedEdge.Edge edge1 = weightedEdge.getEdge1();
-                            edge1.addMouseListener(edgeMouseListener);
-
-                            graphPanel.add(edge1);
-                            graphPanel.add(weightedEdge.getEdge2());
-                            graphPanel.add(weightedEdge.getWeightLabel());
-
-                            clearVertices();
-                            refreshGraph();
-                        }
+    private void vertexClicked(int clickedVertex) {
+        if (currentMode == Mode.EDGE) {
+            if (verticesForEdge.contains(clickedVertex)) {
+                graphPanel.setVertexState(clickedVertex, ElementState.DEFAULT);
+                refreshStates();
+                verticesForEdge.remove(Integer.valueOf(clickedVertex));
+            } else {
+                graphPanel.setVertexState(clickedVertex, ElementState.SELECTED);
+                refreshStates();
+                verticesForEdge.add(clickedVertex);
+                if (verticesForEdge.size() == 2) {
+                    Integer edgeWeight = getEdgeWeight();
+
+                    if (edgeWeight != null) {
+                        edits.addEdge(verticesForEdge.get(0), verticesForEdge.get(1), edgeWeight);
+                        clearVertices();
+                        refreshGraph();
                     }
                 }
-            } else if (currentMode == Mode.REMOVE_VERTEX) {
-                List<WeightedEdge> linkedEdges = getLinkedEdges(clickedVertex);
-                for(WeightedEdge edge: linkedEdges) {
-                    removeWeightedEdgeComponents(edge);
-                    graphEdges.remove(edge);
-                }
-                graphPanel.remove(clickedVertex);
-                verticesForEdge.remove(clickedVertex);
-                graphVertices.remove(clickedVertex);
-                refreshGraph();
-            } else if (currentMode == Mode.NONE){
-                displayLabel.setText("Please wait...");
-                ExecutorService executor = Executors.newSingleThreadExecutor();
-                executor.submit(() -> {
-                    if (algorithmMode == AlgorithmMode.DFS) {
-                        runDFS(clickedVertex);
-                    } else if (algorithmMode == AlgorithmMode.BSF) {
-                        runBFS(clickedVertex);
-                    } else if (algorithmMode == AlgorithmMode.DIJKSTRA) {
-                        runDijkstra(clickedVertex);
+            }
+        } else if (currentMode == Mode.REMOVE_VERTEX) {
+            edits.removeVertex(clickedVertex);
+            verticesForEdge.remove(Integer.valueOf(clickedVertex));
+            graphPanel.setVertexState(clickedVertex, ElementState.DEFAULT);
+            refreshGraph();
+        } else if (currentMode == Mode.NONE){
+            CsrGraph csr = snapshot();
+            int version = graph.version();
+            if (algorithmMode == AlgorithmMode.DFS) {
+                runAlgorithm(steps -> getDisplayResult("DFS : ", DepthFirstSearch.run(csr, clickedVertex, steps)));
+            } else if (algorithmMode == AlgorithmMode.BSF) {
+                runAlgorithm(steps -> getDisplayResult("BFS : ", BreadthFirstSearch.run(csr, clickedVertex, steps)));
+            } else if (algorithmMode == AlgorithmMode.PARALLEL_BFS) {
+                runAlgorithm(steps -> getDisplayResult("Parallel BFS : ",
+                        ParallelBreadthFirstSearch.run(csr, clickedVertex, steps)));
+            } else if (algorithmMode == AlgorithmMode.DIJKSTRA) {
+                int logPosition = edits.size();
+                ShortestPaths[] result = new ShortestPaths[1];
+                runAlgorithm(algorithmMode.label, steps -> {
+                    try {
+                        result[0] = shortestPathCache.get(csr, version, clickedVertex, steps);
+                        return getDisplayResult(result[0]);
+                    } catch (IllegalArgumentException ex) {
+                        return "Dijkstra's Algorithm needs non-negative weights";
+                    }
+                }, () -> result[0] == null ? null : new DynamicShortestPaths(graph, result[0], logPosition));
+            } else if (algorithmMode == AlgorithmMode.DELTA_STEPPING) {
+                runAlgorithm(steps -> {
+                    try {
+                        return getDisplayResult(DeltaStepping.run(csr, clickedVertex, DeltaStepping.defaultDelta(csr), steps));
+                    } catch (IllegalArgumentException ex) {
+                        return "Delta-Stepping needs non-negative weights";
                     }
                 });
+            } else if (algorithmMode == AlgorithmMode.A_STAR || algorithmMode == AlgorithmMode.BIDIRECTIONAL_DIJKSTRA
+                    || algorithmMode == AlgorithmMode.CONTRACTION_HIERARCHY) {
+                routeVertexClicked(csr, clickedVertex);
+            } else if (algorithmMode == AlgorithmMode.PRIM) {
+                runAlgorithm(steps -> getDisplayResult(Prim.run(csr, clickedVertex, steps)));
             }
         }
-    };
-
-    private void runPrim() throws InterruptedException {
-        List<WeightedEdge> sortedEdges = graphEdges.stream().sorted().toList();
-        for (var edge: sortedEdges) {
-            if (!visitedVertices.containsAll(edge.getVertices())) {
-                visitedEdges.add(edge);
-                edge.setSelectedColor();
-                for (Vertex v : edge.getVertices()) {
-                    visitedVertices.add(v);
-                    v.setSelectedColor();
+    }
+
+    /** First click picks the source, second click the target of a point-to-point search. */
+    private void routeVertexClicked(CsrGraph csr, int clickedVertex) {
+        if (algorithmMode == AlgorithmMode.CONTRACTION_HIERARCHY && !hasHierarchy()) {
+            routeSource = -1;
+            displayLabel.setText("Please build the contraction hierarchy first");
+            return;
+        }
+        if (routeSource < 0 || !graph.containsVertex(routeSource)) {
+            clearSelectedVerticesAndEdges();
+            routeSource = clickedVertex;
+            graphPanel.setVertexState(clickedVertex, ElementState.ROOT);
+            refreshStates();
+            displayLabel.setText("Please choose a target vertex");
+            return;
+        }
+        int source = routeSource;
+        routeSource = -1;
+        if (algorithmMode == AlgorithmMode.A_STAR) {
+            int[] x = new int[graph.vertexLimit()];
+            int[] y = new int[graph.vertexLimit()];
+            for (int v = 0; v < graph.vertexLimit(); v++) {
+                if (graph.containsVertex(v)) {
+                    x[v] = graph.x(v);
+                    y[v] = graph.y(v);
                 }
-                refreshGraph();
-                Thread.sleep(200L);
             }
+            runAlgorithm(steps -> {
+                try {
+                    return getDisplayResult(source, clickedVertex, AStar.run(csr, x, y, source, clickedVertex, steps));
+                } catch (IllegalArgumentException ex) {
+                    return "A* Search needs non-negative weights";
+                }
+            });
+        } else if (algorithmMode == AlgorithmMode.CONTRACTION_HIERARCHY) {
+            ContractionHierarchy queried = hierarchy;
+            runAlgorithm(steps -> getDisplayResult(source, clickedVertex, queried.query(source, clickedVertex, steps)));
+        } else {
+            runAlgorithm(steps -> {
+                try {
+                    return getDisplayResult(source, clickedVertex,
+                            BidirectionalDijkstra.run(csr, source, clickedVertex, steps));
+                } catch (IllegalArgumentException ex) {
+                    return "Bidirectional Dijkstra needs non-negative weights";
+                }
+            });
         }
-        setDisplayResult(true);
-        Thread.sleep(500L);
     }
 
-    private void runDijkstra(Vertex clickedVertex) {
-        Deque<Vertex> vertexDeque = new ArrayDeque<>();
-        vertexDeque.add(clickedVertex);
-        clickedVertex.setRootColor();
-        clickedVertex.setDistance(0);
-        refreshGraph();
+    /** Adjacency snapshot of the graph, rebuilt only after vertices or edges were added or removed. */
+    private CsrGraph snapshot() {
+        if (snapshot == null || snapshotVersion != graph.version()) {
+            snapshot = CsrGraph.of(graph);
+            snapshotVersion = graph.version();
+        }
+        return snapshot;
+    }
+
+    private void precomputeShortestPaths() {
+        CsrGraph csr = snapshot();
+        int version = graph.version();
+        if (!ShortestPathCache.canPrecompute(csr)) {
+            displayLabel.setText("Precomputing is limited to " + ShortestPathCache.PRECOMPUTE_LIMIT + " vertices");
+            return;
+        }
+        runAlgorithm("Precompute Shortest Paths", steps -> {
+            try {
+                shortestPathCache.precompute(csr, version);
+                return "Shortest paths from every vertex are precomputed";
+            } catch (IllegalArgumentException ex) {
+                return "Dijkstra's Algorithm needs non-negative weights";
+            }
+        });
+    }
+
+    private void runAlgorithm(Function<StepListener, String> algorithm) {
+        runAlgorithm(algorithmMode.label, algorithm);
+    }
+
+    private void runAlgorithm(String name, Function<StepListener, String> algorithm) {
+        runAlgorithm(name, algorithm, () -> null);
+    }
+
+    /**
+     * Runs {@code algorithm} and, once its result is shown, keeps the result {@code live} supplies
+     * up to date through later edits.
+     */
+    private void runAlgorithm(String name, Function<StepListener, String> algorithm, Supplier<DynamicResult> live) {
+        liveResult = null;
+        displayLabel.setText("Please wait...");
+        algorithmRunner.start(animationMode, name, algorithm, text -> {
+            displayLabel.setText(text);
+            liveResult = live.get();
+            liveResultName = name;
+            // Component colours are not animation steps, so they appear once the run is done.
+            if (liveResult instanceof DynamicComponents && liveResult.update(edits)) {
+                showLiveResult();
+            }
+        });
+    }
+
+    /** Brings the live result up to date with the edits since it was last shown, then shows it again. */
+    private void updateLiveResult() {
+        if (liveResult == null) {
+            return;
+        }
+        OperationCounter operations = OperationCounter.current();
+        operations.reset();
+        long start = System.nanoTime();
+        boolean alive;
         try {
-            Thread.sleep(200L);
-            while (!vertexDeque.isEmpty()) {
-                visitedVertices.add(vertexDeque.peekFirst());
-                Vertex currentVertex = vertexDeque.pollFirst();
-                var linkedEdges = getLinkedEdges(currentVertex);
-                for (var edge : linkedEdges) {
-                    if (!visitedEdges.contains(edge)) {
-                        for (Vertex v: edge.getVertices()) {
-                            if (currentVertex != null && !v.equals(currentVertex)) {
-                                calculateCurrentDistance(currentVertex, v, edge.getWeight());
-                                vertexDeque.add(v);
-                            }
-                            visitedEdges.add(edge);
-                            refreshGraph();
-                            Thread.sleep(200L);
-                        }
-                    }
+            alive = liveResult.update(edits);
+        } catch (IllegalArgumentException ex) {
+            liveResult = null;
+            clearSelectedVerticesAndEdges();
+            displayLabel.setText(liveResultName + " needs non-negative weights");
+            return;
+        }
+        if (!alive) {
+            liveResult = null;
+            clearSelectedVerticesAndEdges();
+            displayLabel.setText("");
+            return;
+        }
+        metrics.recordRun(liveResultName + (liveResult.lastUpdateIncremental() ? " (update)" : " (rerun)"),
+                System.nanoTime() - start, operations.verticesSettled(), operations.edgesRelaxed(),
+                operations.heapOperations());
+        showLiveResult();
+    }
+
+    private void showLiveResult() {
+        graphPanel.clearStates();
+        if (liveResult instanceof DynamicShortestPaths live) {
+            ShortestPaths paths = live.paths();
+            applyStep(StepKind.ROOT, paths.source());
+            for (int i = 0; i < paths.settledCount(); i++) {
+                int v = paths.settled(i);
+                if (paths.predecessorEdge(v) >= 0) {
+                    applyStep(StepKind.ACCEPT_EDGE, paths.predecessorEdge(v));
+                    applyStep(StepKind.VISIT_VERTEX, v);
                 }
             }
-        } catch (Exception ex) {
-            ex.printStackTrace();
+            displayLabel.setText(getDisplayResult(paths));
+        } else if (liveResult instanceof DynamicSpanningForest live) {
+            SpanningTree tree = live.tree();
+            for (int i = 0; i < tree.edgeCount(); i++) {
+                applyStep(StepKind.ACCEPT_EDGE, tree.edge(i));
+                applyStep(StepKind.VISIT_VERTEX, tree.parent(i));
+                applyStep(StepKind.VISIT_VERTEX, tree.child(i));
+            }
+            displayLabel.setText(getDisplayResult(tree));
+        } else if (liveResult instanceof DynamicComponents live) {
+            graphPanel.setVertexGroups(live.labels());
+            displayLabel.setText(getComponentsText(live.componentCount()));
         }
-        setDisplayResult(false);
+        refreshStates();
     }
 
-    private void calculateCurrentDistance(Vertex source, Vertex next, int weight) {
-        if (source.getDistance() + weight < next.getDistance()) {
-            next.setDistance(source.getDistance() + weight);
+    private void showMetrics(boolean show) {
+        metricsLabel.setText(metrics.summary());
+        metricsLabel.setVisible(show);
+        if (show) {
+            metricsTimer.start();
+        } else {
+            metricsTimer.stop();
         }
     }
 
-    private void runDFS(Vertex clickedVertex) {
+    private void recordMetrics(JCheckBoxMenuItem item) {
+        if (!item.isSelected()) {
+            metrics.stopCsv();
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV (*.csv)", "csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            item.setSelected(false);
+            return;
+        }
+        Path path = chooser.getSelectedFile().toPath();
+        if (!path.getFileName().toString().contains(".")) {
+            path = path.resolveSibling(path.getFileName() + ".csv");
+        }
         try {
-            visitLinkedVertices(clickedVertex);
-        } catch (Exception ex) {
-            System.out.println(ex.getMessage());
+            metrics.startCsv(path);
+        } catch (IOException ex) {
+            item.setSelected(false);
+            JOptionPane.showMessageDialog(this, "Cannot record to " + path.getFileName() + ": " + ex.getMessage(),
+                    "Record Metrics", JOptionPane.ERROR_MESSAGE);
         }
-        setDisplayResult("DFS : ");
     }
 
-    private void setDisplayResult(String prefix) {
+    private void applyStep(StepKind kind, int id) {
+        if (kind == StepKind.ROOT) {
+            graphPanel.setVertexState(id, ElementState.ROOT);
+        } else if (kind == StepKind.VISIT_VERTEX) {
+            if (graphPanel.getVertexState(id) != ElementState.ROOT) {
+                graphPanel.setVertexState(id, ElementState.SELECTED);
+            }
+        } else if (kind == StepKind.RELAX_EDGE) {
+            if (graphPanel.getEdgeState(id) != ElementState.SELECTED) {
+                graphPanel.setEdgeState(id, ElementState.RELAXED);
+            }
+        } else {
+            graphPanel.setEdgeState(id, ElementState.SELECTED);
+        }
+    }
+
+    private String getDisplayResult(String prefix, Traversal traversal) {
         StringBuilder sb = new StringBuilder(prefix);
-        for (Vertex s: visitedVertices) {
-            sb.append(s.getLabel()).append(" -> ");
+        for (int i = 0; i < traversal.count(); i++) {
+            sb.append(graph.label(traversal.vertex(i))).append(" -> ");
         }
-        displayLabel.setText(sb.substring(0, sb.lastIndexOf(" -> ")));
+        return sb.substring(0, sb.lastIndexOf(" -> "));
     }
 
-    private void setDisplayResult(boolean isPrim) {
+    private String getDisplayResult(SpanningTree tree) {
         StringBuilder sb = new StringBuilder();
-        if (isPrim) {
-            for (var edge: visitedEdges) {
-                List<Vertex> edgeVertices = edge.getVertices();
-                sb.append(edgeVertices.get(1).getLabel()).append("=");
-                sb.append(edgeVertices.get(0).getLabel()).append(", ");
-            }
-        } else {
-            for (Vertex v : visitedVertices) {
-                if (v.getDistance() > 0) {
-                    sb.append(v.getLabel()).append("=").append(v.getDistance()).append(", ");
-                }
-            }
-        }
-        displayLabel.setText(sb.substring(0, sb.lastIndexOf(", ")));
-    }
-
-    private void visitLinkedVertices(Vertex clickedVertex) throws InterruptedException {
-        if (visitedVertices.size() != graphVertices.size()) {
-            var edges = getLinkedEdges(clickedVertex);
-            for (var edge: edges) {
-                var twoVertices = edge.getVertices();
-                if (!visitedEdges.contains(edge)) {
-                    twoVertices.get(0).setSelectedColor();
-                    visitedVertices.add(twoVertices.get(0));
-                    visitedEdges.add(edge);
-                    edge.setSelectedColor();
-                    refreshGraph();
-                    Thread.sleep(200L);
-                    visitLinkedVertices(twoVertices.get(1));
-                } else {
-                    twoVertices.get(1).setSelectedColor();
-                    visitedVertices.add(twoVertices.get(1));
-                }
-            }
+        for (int i = 0; i < tree.edgeCount(); i++) {
+            sb.append(graph.label(tree.child(i))).append("=");
+            sb.append(graph.label(tree.parent(i))).append(", ");
         }
+        return sb.length() == 0 ? "" : sb.substring(0, sb.lastIndexOf(", "));
     }
 
-    private void runBFS(Vertex clickedVertex) {
-        Deque<Vertex> vertexDeque = new ArrayDeque<>();
-        vertexDeque.add(clickedVertex);
-        clickedVertex.setSelectedColor();
-        refreshGraph();
-        try {
-            Thread.sleep(200L);
-            while (!vertexDeque.isEmpty()) {
-                visitedVertices.add(vertexDeque.peekFirst());
-                Vertex currentVertex = vertexDeque.pollFirst();
-                var linkedEdges = getLinkedEdges(currentVertex);
-                for (var edge : linkedEdges) {
-                    if (!visitedEdges.contains(edge)) {
-                        for (Vertex v: edge.getVertices()) {
-                            if (!v.equals(currentVertex)) {
-                                vertexDeque.add(v);
-                                visitedEdges.add(edge);
-
-                                edge.setSelectedColor();
-                                v.setSelectedColor();
-                                refreshGraph();
-                                Thread.sleep(200L);
-                            }
-                        }
-                    }
-                }
-            }
-        } catch (Exception ex) {
-            ex.printStackTrace();
+    private String getComponentsText(int count) {
+        return AlgorithmMode.CONNECTED_COMPONENTS.label + " : " + count;
+    }
+
+    private String getDisplayResult(Cuts cuts) {
+        StringBuilder sb = new StringBuilder("Bridges : ").append(cuts.bridgeCount());
+        String separator = " (";
+        for (int i = 0; i < Math.min(cuts.bridgeCount(), LISTED_CUTS); i++) {
+            int e = cuts.bridge(i);
+            sb.append(separator).append(graph.label(graph.source(e))).append("=").append(graph.label(graph.target(e)));
+            separator = ", ";
         }
-        setDisplayResult("BFS : ");
+        sb.append(cuts.bridgeCount() > LISTED_CUTS ? ", ...)" : cuts.bridgeCount() > 0 ? ")" : "");
+        sb.append(", Articulation Points : ").append(cuts.articulationPointCount());
+        separator = " (";
+        for (int i = 0; i < Math.min(cuts.articulationPointCount(), LISTED_CUTS); i++) {
+            sb.append(separator).append(graph.label(cuts.articulationPoint(i)));
+            separator = ", ";
+        }
+        sb.append(cuts.articulationPointCount() > LISTED_CUTS ? ", ...)" : cuts.articulationPointCount() > 0 ? ")" : "");
+        return sb.toString();
     }
 
-    private List<WeightedEdge> getLinkedEdges(Vertex vertex) {
-        List<WeightedEdge> edges = new ArrayList<>();
-        for(WeightedEdge edge: graphEdges) {
-            if (edge.getVertices().contains(vertex)) {
-                edges.add(edge);
-            }
+    private String getDisplayResult(ShortestPaths paths) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i < paths.settledCount(); i++) {
+            int v = paths.settled(i);
+            sb.append(graph.label(v)).append("=").append(paths.distance(v)).append(", ");
         }
-        return edges.stream().sorted().toList();
+        return sb.length() == 0 ? "" : sb.substring(0, sb.lastIndexOf(", "));
     }
 
-    private void removeWeightedEdgeComponents(WeightedEdge edge) {
-        graphPanel.remove(edge.getWeightLabel());
-        graphPanel.remove(edge.getEdge1());
-        graphPanel.remove(edge.getEdge2());
+    private String getDisplayResult(int source, int target, Route route) {
+        if (!route.found()) {
+            return "No path from " + graph.label(source) + " to " + graph.label(target)
+                    + " (settled " + route.settledCount() + " vertices)";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < route.vertexCount(); i++) {
+            sb.append(graph.label(route.vertex(i))).append(" -> ");
+        }
+        sb.setLength(sb.length() - " -> ".length());
+        return sb.append(" = ").append(route.distance())
+                .append(" (settled ").append(route.settledCount()).append(" vertices)").toString();
     }
 
     private void clearVertices() {
-        for (Vertex v: verticesForEdge) {
-            v.setDefaultColor();
+        for (int v: verticesForEdge) {
+            graphPanel.setVertexState(v, ElementState.DEFAULT);
         }
         verticesForEdge.clear();
     }
@@ -358,16 +783,29 @@ public class MainFrame extends JFrame {
         return edgeWeight == null ? null : Integer.parseInt(edgeWeight);
     }
 
+    private Integer getPositiveNumber(String message, String title) {
+        String number;
+        do {
+            number = JOptionPane.showInputDialog(graphPanel, message, title,
+                    JOptionPane.QUESTION_MESSAGE);
+            if (number == null) {
+                break;
+            }
+        } while (!number.matches("0*[1-9]\\d{0,8}"));
+        return number == null ? null : Integer.parseInt(number);
+    }
+
     private String getVertexText() {
         String vertexText;
         do {
             vertexText = JOptionPane.showInputDialog(graphPanel,
-                    "Enter the Vertex ID (Should be 1 char):", "Vertex",
+                    "Enter the Vertex ID (Should be unique):", "Vertex",
                     JOptionPane.QUESTION_MESSAGE);
             if (vertexText == null) {
                 break;
             }
-        } while (vertexText.isBlank() || vertexText.trim().length() != 1 || vertexNames.contains(vertexText));
+            vertexText = vertexText.trim();
+        } while (vertexText.isEmpty() || graph.vertexOf(vertexText) >= 0);
 
         return vertexText;
     }
@@ -376,10 +814,18 @@ public class MainFrame extends JFrame {
         JMenuBar menuBar = new JMenuBar();
         JMenu modeMenu = new JMenu(Mode.class.getSimpleName());
         JMenu fileMenu = new JMenu("File");
+        JMenu editMenu = new JMenu("Edit");
         JMenu algorithmsMenu = new JMenu("Algorithms");
+        JMenu animationMenu = new JMenu("Animation");
+        JMenu layoutMenu = new JMenu("Layout");
+        JMenu viewMenu = new JMenu("View");
 
         JMenuItem newMenu = new JMenuItem("New");
         newMenu.setName("New");
+        JMenuItem openMenu = new JMenuItem("Open...");
+        openMenu.setName("Open");
+        JMenuItem saveMenu = new JMenuItem("Save...");
+        saveMenu.setName("Save");
         JMenuItem exitMenu = new JMenuItem("Exit");
         exitMenu.setName("Exit");
 
@@ -399,14 +845,68 @@ public class MainFrame extends JFrame {
         DFSItem.setName("Depth-First Search");
         JMenuItem BFSItem = new JMenuItem("Breadth-First Search");
         BFSItem.setName("Breadth-First Search");
+        JMenuItem parallelBFSItem = new JMenuItem(AlgorithmMode.PARALLEL_BFS.label);
+        parallelBFSItem.setName(AlgorithmMode.PARALLEL_BFS.label);
         JMenuItem DijkstraItem = new JMenuItem("Dijkstra's Algorithm");
         DijkstraItem.setName("Dijkstra's Algorithm");
+        JMenuItem deltaSteppingItem = new JMenuItem(AlgorithmMode.DELTA_STEPPING.label);
+        deltaSteppingItem.setName(AlgorithmMode.DELTA_STEPPING.label);
+        JMenuItem aStarItem = new JMenuItem(AlgorithmMode.A_STAR.label);
+        aStarItem.setName(AlgorithmMode.A_STAR.label);
+        JMenuItem bidirectionalItem = new JMenuItem(AlgorithmMode.BIDIRECTIONAL_DIJKSTRA.label);
+        bidirectionalItem.setName(AlgorithmMode.BIDIRECTIONAL_DIJKSTRA.label);
+        JMenuItem hierarchyQueryItem = new JMenuItem(AlgorithmMode.CONTRACTION_HIERARCHY.label);
+        hierarchyQueryItem.setName(AlgorithmMode.CONTRACTION_HIERARCHY.label);
+        JMenuItem buildHierarchyItem = new JMenuItem("Build Contraction Hierarchy");
+        buildHierarchyItem.setName("Build Contraction Hierarchy");
+        JMenuItem precomputeItem = new JMenuItem("Precompute Shortest Paths");
+        precomputeItem.setName("Precompute Shortest Paths");
         JMenuItem primItem = new JMenuItem("Prim's Algorithm");
         primItem.setName("Prim's Algorithm");
+        JMenuItem kruskalItem = new JMenuItem("Kruskal's Algorithm");
+        kruskalItem.setName("Kruskal's Algorithm");
+        JMenuItem componentsItem = new JMenuItem(AlgorithmMode.CONNECTED_COMPONENTS.label);
+        componentsItem.setName(AlgorithmMode.CONNECTED_COMPONENTS.label);
+        JMenuItem bridgesItem = new JMenuItem(AlgorithmMode.BRIDGES.label);
+        bridgesItem.setName(AlgorithmMode.BRIDGES.label);
+
+        JMenuItem instantItem = new JMenuItem(AnimationMode.INSTANT.label);
+        instantItem.setName(AnimationMode.INSTANT.label);
+        JMenuItem fixedRateItem = new JMenuItem(AnimationMode.FIXED_RATE.label + "...");
+        fixedRateItem.setName(AnimationMode.FIXED_RATE.label);
+        JMenuItem coalesceItem = new JMenuItem(AnimationMode.COALESCE.label + "...");
+        coalesceItem.setName(AnimationMode.COALESCE.label);
+
+        JMenuItem zoomToFitItem = new JMenuItem("Zoom to Fit");
+        zoomToFitItem.setName("Zoom to Fit");
+        JMenuItem actualSizeItem = new JMenuItem("Actual Size");
+        actualSizeItem.setName("Actual Size");
+
+        JCheckBoxMenuItem showMetricsItem = new JCheckBoxMenuItem("Show Metrics");
+        showMetricsItem.setName("Show Metrics");
+        JCheckBoxMenuItem recordMetricsItem = new JCheckBoxMenuItem("Record Metrics to CSV...");
+        recordMetricsItem.setName("Record Metrics to CSV");
+
+        JMenuItem autoLayoutItem = new JMenuItem("Auto Layout");
+        autoLayoutItem.setName("Auto Layout");
+        JMenuItem stopLayoutItem = new JMenuItem("Stop Layout");
+        stopLayoutItem.setName("Stop Layout");
 
         fileMenu.add(newMenu);
+        fileMenu.add(openMenu);
+        fileMenu.add(saveMenu);
+        fileMenu.addSeparator();
         fileMenu.add(exitMenu);
 
+        int shortcutMask = Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx();
+        undoItem.setName("Undo");
+        undoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Z, shortcutMask));
+        redoItem.setName("Redo");
+        redoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Y, shortcutMask));
+        updateEditItems();
+        editMenu.add(undoItem);
+        editMenu.add(redoItem);
+
         modeMenu.add(addVertex);
         modeMenu.add(addEdge);
         modeMenu.addSeparator();
@@ -416,15 +916,47 @@ public class MainFrame extends JFrame {
 
         algorithmsMenu.add(DFSItem);
         algorithmsMenu.add(BFSItem);
+        algorithmsMenu.add(parallelBFSItem);
         algorithmsMenu.add(DijkstraItem);
+        algorithmsMenu.add(deltaSteppingItem);
+        algorithmsMenu.add(aStarItem);
+        algorithmsMenu.add(bidirectionalItem);
+        algorithmsMenu.add(hierarchyQueryItem);
+        algorithmsMenu.add(precomputeItem);
+        algorithmsMenu.add(buildHierarchyItem);
         algorithmsMenu.add(primItem);
+        algorithmsMenu.add(kruskalItem);
+        algorithmsMenu.addSeparator();
+        algorithmsMenu.add(componentsItem);
+        algorithmsMenu.add(bridgesItem);
+
+        animationMenu.add(instantItem);
+        animationMenu.add(fixedRateItem);
+        animationMenu.add(coalesceItem);
+
+        viewMenu.add(zoomToFitItem);
+        viewMenu.add(actualSizeItem);
+        viewMenu.addSeparator();
+        viewMenu.add(showMetricsItem);
+        viewMenu.add(recordMetricsItem);
+
+        layoutMenu.add(autoLayoutItem);
+        layoutMenu.add(stopLayoutItem);
 
         menuBar.add(fileMenu);
+        menuBar.add(editMenu);
         menuBar.add(modeMenu);
         menuBar.add(algorithmsMenu);
+        menuBar.add(animationMenu);
+        menuBar.add(layoutMenu);
+        menuBar.add(viewMenu);
         setJMenuBar(menuBar);
 
         newMenu.addActionListener(l -> resetGraph());
+        openMenu.addActionListener(l -> openGraph());
+        saveMenu.addActionListener(l -> saveGraph());
+        undoItem.addActionListener(l -> undoOrRedo(true));
+        redoItem.addActionListener(l -> undoOrRedo(false));
         exitMenu.addActionListener(l -> System.exit(0));
 
         ActionListener modeItemsActionListener = actionEvent -> {
@@ -440,7 +972,12 @@ public class MainFrame extends JFrame {
                 currentMode = Mode.NONE;
             }
             updateCurrentModeLabel();
-            clearSelectedVerticesAndEdges();
+            // A live result stays on screen while the graph is edited and follows the edits.
+            if (liveResult != null) {
+                showLiveResult();
+            } else {
+                clearSelectedVerticesAndEdges();
+            }
         };
 
         addVertex.addActionListener(modeItemsActionListener);
@@ -459,38 +996,129 @@ public class MainFrame extends JFrame {
             algorithmMode = AlgorithmMode.BSF;
         });
 
+        parallelBFSItem.addActionListener(l -> {
+            startAlgorithmMode();
+            algorithmMode = AlgorithmMode.PARALLEL_BFS;
+        });
+
         DijkstraItem.addActionListener(l -> {
             startAlgorithmMode();
             algorithmMode = AlgorithmMode.DIJKSTRA;
         });
 
+        deltaSteppingItem.addActionListener(l -> {
+            startAlgorithmMode();
+            algorithmMode = AlgorithmMode.DELTA_STEPPING;
+        });
+
+        aStarItem.addActionListener(l -> {
+            startAlgorithmMode();
+            algorithmMode = AlgorithmMode.A_STAR;
+        });
+
+        bidirectionalItem.addActionListener(l -> {
+            startAlgorithmMode();
+            algorithmMode = AlgorithmMode.BIDIRECTIONAL_DIJKSTRA;
+        });
+
+        hierarchyQueryItem.addActionListener(l -> {
+            startAlgorithmMode();
+            algorithmMode = AlgorithmMode.CONTRACTION_HIERARCHY;
+            if (!hasHierarchy()) {
+                displayLabel.setText("Please build the contraction hierarchy first");
+            }
+        });
+
+        buildHierarchyItem.addActionListener(l -> startContraction());
+
+        precomputeItem.addActionListener(l -> {
+            clearSelectedVerticesAndEdges();
+            precomputeShortestPaths();
+        });
+
         primItem.addActionListener(l -> {
             startAlgorithmMode();
             algorithmMode = AlgorithmMode.PRIM;
-            ExecutorService executor = Executors.newSingleThreadExecutor();
-            executor.submit(() -> {
-                try {
-                    runPrim();
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
-            });
+        });
+
+        kruskalItem.addActionListener(l -> {
+            startAlgorithmMode();
+            algorithmMode = AlgorithmMode.KRUSKAL;
+            CsrGraph csr = snapshot();
+            int logPosition = edits.size();
+            SpanningTree[] result = new SpanningTree[1];
+            runAlgorithm(algorithmMode.label, steps -> getDisplayResult(result[0] = Kruskal.run(csr, steps)),
+                    () -> result[0] == null ? null : new DynamicSpanningForest(graph, result[0], logPosition));
+        });
+
+        componentsItem.addActionListener(l -> {
+            startAlgorithmMode();
+            algorithmMode = AlgorithmMode.CONNECTED_COMPONENTS;
+            CsrGraph csr = snapshot();
+            // Removed vertex ids are empty rows of the snapshot and come out as components of their own.
+            int vertexCount = graph.vertexCount();
+            int logPosition = edits.size();
+            Components[] result = new Components[1];
+            runAlgorithm(algorithmMode.label, steps -> {
+                result[0] = ConnectedComponents.run(csr);
+                return getComponentsText(result[0].count() - (csr.vertexCount() - vertexCount));
+            }, () -> result[0] == null ? null : new DynamicComponents(graph, result[0], vertexCount, logPosition));
+        });
+
+        bridgesItem.addActionListener(l -> {
+            startAlgorithmMode();
+            algorithmMode = AlgorithmMode.BRIDGES;
+            CsrGraph csr = snapshot();
+            runAlgorithm(steps -> getDisplayResult(Biconnectivity.run(csr, steps)));
+        });
+
+        zoomToFitItem.addActionListener(l -> graphPanel.zoomToFit());
+        actualSizeItem.addActionListener(l -> graphPanel.zoomAt(graphPanel.getWidth() / 2, graphPanel.getHeight() / 2,
+                1 / graphPanel.getScale()));
+
+        showMetricsItem.addActionListener(l -> showMetrics(showMetricsItem.isSelected()));
+        recordMetricsItem.addActionListener(l -> recordMetrics(recordMetricsItem));
+
+        autoLayoutItem.addActionListener(l -> startLayout());
+        stopLayoutItem.addActionListener(l -> {
+            if (layoutWorker != null) {
+                stopLayout();
+                displayLabel.setText("");
+            }
+        });
+
+        instantItem.addActionListener(l -> animationMode = AnimationMode.INSTANT);
+
+        fixedRateItem.addActionListener(l -> {
+            Integer framesPerSecond = getPositiveNumber("Enter Frames per Second:", AnimationMode.FIXED_RATE.label);
+            if (framesPerSecond != null) {
+                animationMode = AnimationMode.FIXED_RATE;
+                animationScheduler.setRate(framesPerSecond, 1);
+            }
+        });
+
+        coalesceItem.addActionListener(l -> {
+            Integer stepsPerFrame = getPositiveNumber("Enter Steps per Frame:", AnimationMode.COALESCE.label);
+            if (stepsPerFrame != null) {
+                animationMode = AnimationMode.COALESCE;
+                animationScheduler.setRate(COALESCE_FRAMES_PER_SECOND, stepsPerFrame);
+            }
         });
     }
 
     private void startAlgorithmMode() {
         clearSelectedVerticesAndEdges();
+        routeSource = -1;
         currentMode = Mode.NONE;
         updateCurrentModeLabel();
         displayLabel.setText("Please choose a starting vertex");
     }
 
     private void clearSelectedVerticesAndEdges() {
-        visitedEdges.clear();
-        visitedVertices.clear();
-        graphEdges.forEach(WeightedEdge::setDefaultColor);
-        graphVertices.forEach(Vertex::setDefaultColor);
-        refreshGraph();
+        liveResult = null;
+        algorithmRunner.cancel();
+        graphPanel.clearStates();
+        refreshStates();
     }
 
     private void updateCurrentModeLabel() {
@@ -500,8 +1128,37 @@ public class MainFrame extends JFrame {
         }
     }
 
+    /** Reverts or reapplies the last edit transaction, repainting once for all of its records. */
+    private void undoOrRedo(boolean undo) {
+        if (undo ? !edits.canUndo() : !edits.canRedo()) {
+            return;
+        }
+        stopLayout();
+        clearVertices();
+        if (liveResult == null) {
+            clearSelectedVerticesAndEdges();
+        }
+        routeSource = -1;
+        if (undo) {
+            edits.undo();
+        } else {
+            edits.redo();
+        }
+        refreshGraph();
+    }
+
+    private void updateEditItems() {
+        undoItem.setEnabled(edits.canUndo());
+        redoItem.setEnabled(edits.canRedo());
+    }
+
     private void refreshGraph() {
-        repaint();
-        revalidate();
+        updateEditItems();
+        updateLiveResult();
+        graphPanel.repaint();
+    }
+
+    private void refreshStates() {
+        graphPanel.repaintChanges();
     }
 }
\ No newline at end of file
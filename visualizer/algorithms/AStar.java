@@ -0,0 +1,104 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * A* search from a source to a target guided by the straight-line distance between vertex
+ * positions. The distance is scaled by the smallest weight per unit of length over all edges, so
+ * the heuristic never overestimates and is consistent whatever the weights are; it is rounded down
+ * to keep heap keys integral. When some edge is cheaper than its length suggests the guidance
+ * weakens, down to plain Dijkstra for zero-weight edges.
+ */
+public final class AStar {
+
+    private AStar() {
+    }
+
+    public static Route run(CsrGraph graph, int[] x, int[] y, int source, int target) {
+        return run(graph, x, y, source, target, StepListener.NONE);
+    }
+
+    /**
+     * Finds a shortest path from {@code source} to {@code target}; {@code x} and {@code y} hold the
+     * vertex positions indexed by vertex id.
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    public static Route run(CsrGraph graph, int[] x, int[] y, int source, int target, StepListener steps) {
+        Dijkstra.requireNonNegativeWeights(graph);
+
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] weights = graph.weights;
+        int[] edgeIds = graph.edgeIds;
+        double scale = heuristicScale(graph, x, y);
+
+        long[] distance = new long[n];
+        int[] predecessor = new int[n];
+        int[] predecessorEdge = new int[n];
+        boolean[] settled = new boolean[n];
+        int settledCount = 0;
+        Arrays.fill(distance, ShortestPaths.UNREACHABLE);
+        Arrays.fill(predecessorEdge, -1);
+
+        IndexedMinHeap open = new IndexedMinHeap(n);
+        distance[source] = 0;
+        open.insert(source, estimate(scale, x, y, source, target));
+        steps.onStep(StepKind.ROOT, source);
+        steps.onStep(StepKind.ROOT, target);
+        long relaxed = 0;
+        while (!open.isEmpty()) {
+            Cancellation.checkInterrupted();
+            int u = open.pollMin();
+            settled[u] = true;
+            settledCount++;
+            if (u == target) {
+                OperationCounter.count(settledCount, relaxed);
+                Route route = Route.fromPredecessors(target, distance[target], predecessor, predecessorEdge, settledCount);
+                for (int i = 0; i < route.vertexCount() - 1; i++) {
+                    steps.onStep(StepKind.ACCEPT_EDGE, route.edge(i));
+                }
+                return route;
+            }
+            if (u != source) {
+                steps.onStep(StepKind.VISIT_VERTEX, u);
+            }
+            relaxed += offsets[u + 1] - offsets[u];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                long candidate = distance[u] + weights[i];
+                if (!settled[v] && candidate < distance[v]) {
+                    distance[v] = candidate;
+                    predecessor[v] = u;
+                    predecessorEdge[v] = edgeIds[i];
+                    open.offer(v, candidate + estimate(scale, x, y, v, target));
+                    steps.onStep(StepKind.RELAX_EDGE, edgeIds[i]);
+                }
+            }
+        }
+        OperationCounter.count(settledCount, relaxed);
+        return Route.notFound(settledCount);
+    }
+
+    /** Smallest weight per unit of straight-line length over the edges that have a length. */
+    static double heuristicScale(CsrGraph graph, int[] x, int[] y) {
+        double scale = Double.POSITIVE_INFINITY;
+        for (int u = 0; u < graph.vertexCount(); u++) {
+            for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                int v = graph.targets[i];
+                double length = Math.hypot(x[u] - x[v], y[u] - y[v]);
+                if (length > 0) {
+                    scale = Math.min(scale, graph.weights[i] / length);
+                }
+            }
+        }
+        return scale == Double.POSITIVE_INFINITY ? 0 : scale;
+    }
+
+    static long estimate(double scale, int[] x, int[] y, int v, int target) {
+        return (long) Math.floor(scale * Math.hypot(x[v] - x[target], y[v] - y[target]));
+    }
+}
@@ -0,0 +1,109 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+
+/**
+ * Bridges and articulation points of every component by Tarjan's low-link depth-first search, with
+ * an explicit stack like {@link DepthFirstSearch}. The low link of a vertex is the earliest
+ * discovery time reachable from its subtree through one non-tree edge; a tree edge is a bridge when
+ * the child's subtree reaches nothing above the child, and a vertex is an articulation point when
+ * some child's subtree reaches nothing above the vertex, or when it is a root with two children.
+ * Only the tree edge itself is skipped when looking back at the parent, so parallel edges are never
+ * bridges. Linear in the size of the graph.
+ */
+public final class Biconnectivity {
+
+    private Biconnectivity() {
+    }
+
+    public static Cuts run(CsrGraph graph) {
+        return run(graph, StepListener.NONE);
+    }
+
+    public static Cuts run(CsrGraph graph, StepListener steps) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] edgeIds = graph.edgeIds;
+
+        int[] discovered = new int[n];
+        int[] low = new int[n];
+        int[] parentEdges = new int[n];
+        boolean[] articulation = new boolean[n];
+        int time = 0;
+
+        int[] bridges = new int[n];
+        int bridgeCount = 0;
+        int[] articulationPoints = new int[n];
+        int articulationPointCount = 0;
+
+        int[] stackVertices = new int[n];
+        int[] stackSlots = new int[n];
+        long relaxed = 0;
+        for (int root = 0; root < n; root++) {
+            if (discovered[root] != 0 || graph.degree(root) == 0) {
+                continue;
+            }
+            Cancellation.checkInterrupted();
+            int top = 0;
+            stackVertices[0] = root;
+            stackSlots[0] = offsets[root];
+            discovered[root] = low[root] = ++time;
+            parentEdges[root] = -1;
+            int rootChildren = 0;
+
+            while (top >= 0) {
+                if ((time & 0x3FF) == 0) {
+                    Cancellation.checkInterrupted();
+                }
+                int u = stackVertices[top];
+                int i = stackSlots[top];
+                if (i < offsets[u + 1]) {
+                    stackSlots[top] = i + 1;
+                    relaxed++;
+                    int v = targets[i];
+                    if (edgeIds[i] == parentEdges[u]) {
+                        continue;
+                    }
+                    if (discovered[v] == 0) {
+                        discovered[v] = low[v] = ++time;
+                        parentEdges[v] = edgeIds[i];
+                        top++;
+                        stackVertices[top] = v;
+                        stackSlots[top] = offsets[v];
+                    } else if (discovered[v] < low[u]) {
+                        low[u] = discovered[v];
+                    }
+                    continue;
+                }
+
+                top--;
+                if (top < 0) {
+                    break;
+                }
+                int parent = stackVertices[top];
+                if (low[u] < low[parent]) {
+                    low[parent] = low[u];
+                }
+                if (low[u] > discovered[parent]) {
+                    bridges[bridgeCount++] = parentEdges[u];
+                    steps.onStep(StepKind.ACCEPT_EDGE, parentEdges[u]);
+                }
+                if (parent == root) {
+                    rootChildren++;
+                } else if (low[u] >= discovered[parent] && !articulation[parent]) {
+                    articulation[parent] = true;
+                    articulationPoints[articulationPointCount++] = parent;
+                    steps.onStep(StepKind.ROOT, parent);
+                }
+            }
+            if (rootChildren > 1) {
+                articulation[root] = true;
+                articulationPoints[articulationPointCount++] = root;
+                steps.onStep(StepKind.ROOT, root);
+            }
+        }
+        OperationCounter.count(time, relaxed);
+        return new Cuts(bridges, bridgeCount, articulationPoints, articulationPointCount);
+    }
+}
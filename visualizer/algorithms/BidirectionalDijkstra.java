@@ -0,0 +1,122 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * Point-to-point Dijkstra that grows one search from the source and one from the target, always
+ * advancing the side with the smaller frontier. Every time a vertex is labelled by both sides the
+ * best meeting point is updated, and the run stops once the two smallest keys together reach the
+ * best path found, so both balls together cover far fewer vertices than a one-sided search.
+ */
+public final class BidirectionalDijkstra {
+
+    private BidirectionalDijkstra() {
+    }
+
+    public static Route run(CsrGraph graph, int source, int target) {
+        return run(graph, source, target, StepListener.NONE);
+    }
+
+    /**
+     * Finds a shortest path from {@code source} to {@code target}.
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    public static Route run(CsrGraph graph, int source, int target, StepListener steps) {
+        Dijkstra.requireNonNegativeWeights(graph);
+
+        Side forward = new Side(graph.vertexCount(), source);
+        Side backward = new Side(graph.vertexCount(), target);
+        steps.onStep(StepKind.ROOT, source);
+        steps.onStep(StepKind.ROOT, target);
+
+        long best = source == target ? 0 : ShortestPaths.UNREACHABLE;
+        int meeting = source == target ? source : -1;
+        long relaxed = 0;
+        while (!forward.open.isEmpty() && !backward.open.isEmpty()) {
+            Cancellation.checkInterrupted();
+            long lowest = forward.open.key(forward.open.peekMin()) + backward.open.key(backward.open.peekMin());
+            if (best != ShortestPaths.UNREACHABLE && lowest >= best) {
+                break;
+            }
+            Side side = forward.open.size() <= backward.open.size() ? forward : backward;
+            Side other = side == forward ? backward : forward;
+            int u = side.open.pollMin();
+            side.settled[u] = true;
+            side.settledCount++;
+            if (u != source && u != target) {
+                steps.onStep(StepKind.VISIT_VERTEX, u);
+            }
+            relaxed += graph.offsets[u + 1] - graph.offsets[u];
+            for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                int v = graph.targets[i];
+                long candidate = side.distance[u] + graph.weights[i];
+                if (!side.settled[v] && candidate < side.distance[v]) {
+                    side.distance[v] = candidate;
+                    side.predecessor[v] = u;
+                    side.predecessorEdge[v] = graph.edgeIds[i];
+                    side.open.offer(v, candidate);
+                    steps.onStep(StepKind.RELAX_EDGE, graph.edgeIds[i]);
+                }
+                if (other.distance[v] != ShortestPaths.UNREACHABLE && side.distance[v] != ShortestPaths.UNREACHABLE
+                        && side.distance[v] + other.distance[v] < best) {
+                    best = side.distance[v] + other.distance[v];
+                    meeting = v;
+                }
+            }
+        }
+
+        int settledCount = forward.settledCount + backward.settledCount;
+        OperationCounter.count(settledCount, relaxed);
+        if (meeting < 0) {
+            return Route.notFound(settledCount);
+        }
+        int forwardLength = 0;
+        for (int v = meeting; v != source; v = forward.predecessor[v]) {
+            forwardLength++;
+        }
+        int backwardLength = 0;
+        for (int v = meeting; v != target; v = backward.predecessor[v]) {
+            backwardLength++;
+        }
+        int[] vertices = new int[forwardLength + backwardLength + 1];
+        int[] edges = new int[forwardLength + backwardLength];
+        vertices[forwardLength] = meeting;
+        for (int v = meeting, i = forwardLength; v != source; v = forward.predecessor[v], i--) {
+            vertices[i - 1] = forward.predecessor[v];
+            edges[i - 1] = forward.predecessorEdge[v];
+        }
+        for (int v = meeting, i = forwardLength; v != target; v = backward.predecessor[v], i++) {
+            vertices[i + 1] = backward.predecessor[v];
+            edges[i] = backward.predecessorEdge[v];
+        }
+        Route route = new Route(best, vertices, edges, settledCount);
+        for (int i = 0; i < route.vertexCount() - 1; i++) {
+            steps.onStep(StepKind.ACCEPT_EDGE, route.edge(i));
+        }
+        return route;
+    }
+
+    private static final class Side {
+        private final long[] distance;
+        private final int[] predecessor;
+        private final int[] predecessorEdge;
+        private final boolean[] settled;
+        private final IndexedMinHeap open;
+        private int settledCount;
+
+        Side(int n, int root) {
+            distance = new long[n];
+            predecessor = new int[n];
+            predecessorEdge = new int[n];
+            settled = new boolean[n];
+            open = new IndexedMinHeap(n);
+            Arrays.fill(distance, ShortestPaths.UNREACHABLE);
+            Arrays.fill(predecessorEdge, -1);
+            distance[root] = 0;
+            open.insert(root, 0);
+        }
+    }
+}
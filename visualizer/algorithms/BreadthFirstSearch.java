@@ -0,0 +1,52 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+
+/**
+ * Breadth-first search over a {@link CsrGraph} with an int array as the queue. The queue doubles
+ * as the visiting order of the returned {@link Traversal}.
+ */
+public final class BreadthFirstSearch {
+
+    private BreadthFirstSearch() {
+    }
+
+    public static Traversal run(CsrGraph graph, int root) {
+        return run(graph, root, StepListener.NONE);
+    }
+
+    public static Traversal run(CsrGraph graph, int root, StepListener steps) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] edgeIds = graph.edgeIds;
+
+        boolean[] visited = new boolean[n];
+        int[] queue = new int[n];
+        int[] treeEdges = new int[n];
+        int head = 0;
+        int tail = 0;
+        visited[root] = true;
+        steps.onStep(StepKind.ROOT, root);
+        queue[tail] = root;
+        treeEdges[tail++] = -1;
+        long relaxed = 0;
+        while (head < tail) {
+            Cancellation.checkInterrupted();
+            int u = queue[head++];
+            relaxed += offsets[u + 1] - offsets[u];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (!visited[v]) {
+                    visited[v] = true;
+                    queue[tail] = v;
+                    treeEdges[tail++] = edgeIds[i];
+                    steps.onStep(StepKind.ACCEPT_EDGE, edgeIds[i]);
+                    steps.onStep(StepKind.VISIT_VERTEX, v);
+                }
+            }
+        }
+        OperationCounter.count(head, relaxed);
+        return new Traversal(queue, treeEdges, tail);
+    }
+}
@@ -0,0 +1,19 @@
+package visualizer.algorithms;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative cancellation for the engines: a run is cancelled by interrupting its thread, and the
+ * engines poll for that in their outer loops.
+ */
+public final class Cancellation {
+
+    private Cancellation() {
+    }
+
+    public static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package visualizer.algorithms;
+
+/**
+ * Connected components of a graph: a component number for every vertex id, numbered from zero in
+ * the order of the smallest vertex of each component, and the size of every component.
+ */
+public final class Components {
+    private final int[] labels;
+    private final int[] sizes;
+
+    Components(int[] labels, int[] sizes) {
+        this.labels = labels;
+        this.sizes = sizes;
+    }
+
+    public int count() {
+        return sizes.length;
+    }
+
+    public int component(int v) {
+        return labels[v];
+    }
+
+    public int size(int component) {
+        return sizes[component];
+    }
+
+    /** Length of the per-vertex labels, i.e. the vertex limit of the graph the run was made on. */
+    int vertexLimit() {
+        return labels.length;
+    }
+}
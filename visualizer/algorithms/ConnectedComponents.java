@@ -0,0 +1,123 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connected components by union-find over all edges, linked in parallel on the common fork/join
+ * pool. Every task joins the edges of a range of vertices with compare-and-set, always hanging the
+ * root with the larger id below the one with the smaller id, so concurrent links can never close a
+ * cycle and finds can halve paths without locks. Each root ends up as the smallest vertex of its
+ * component, which numbers the components in one sequential pass. Linear in the size of the graph
+ * up to the inverse Ackermann factor. Removed vertex ids have empty rows and so count as
+ * single-vertex components.
+ */
+public final class ConnectedComponents {
+    private static final int GRAIN = 4096;
+
+    private ConnectedComponents() {
+    }
+
+    public static Components run(CsrGraph graph) {
+        int n = graph.vertexCount();
+        AtomicIntegerArray parent = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++) {
+            parent.lazySet(v, v);
+        }
+        LongAdder edgesScanned = new LongAdder();
+        ForkJoinPool.commonPool().invoke(new LinkTask(graph, parent, edgesScanned, 0, n));
+        Cancellation.checkInterrupted();
+
+        int[] labels = new int[n];
+        int[] sizes = new int[Math.max(1, n / 16)];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            int root = find(parent, v);
+            if (root == v) {
+                if (count == sizes.length) {
+                    sizes = Arrays.copyOf(sizes, 2 * count);
+                }
+                labels[v] = count++;
+            } else {
+                labels[v] = labels[root];
+            }
+            sizes[labels[v]]++;
+        }
+        OperationCounter.count(n, edgesScanned.sum());
+        return new Components(labels, Arrays.copyOf(sizes, count));
+    }
+
+    private static int find(AtomicIntegerArray parent, int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) {
+                return x;
+            }
+            int grandparent = parent.get(p);
+            if (grandparent != p) {
+                parent.compareAndSet(x, p, grandparent);
+            }
+            x = grandparent;
+        }
+    }
+
+    private static void union(AtomicIntegerArray parent, int a, int b) {
+        while (true) {
+            a = find(parent, a);
+            b = find(parent, b);
+            if (a == b) {
+                return;
+            }
+            if (a < b) {
+                int swap = a;
+                a = b;
+                b = swap;
+            }
+            // Another thread may have linked a meanwhile; then look again from the new roots.
+            if (parent.compareAndSet(a, a, b)) {
+                return;
+            }
+        }
+    }
+
+    private static final class LinkTask extends RecursiveAction {
+        private final CsrGraph graph;
+        private final AtomicIntegerArray parent;
+        private final LongAdder edgesScanned;
+        private final int from;
+        private final int to;
+
+        LinkTask(CsrGraph graph, AtomicIntegerArray parent, LongAdder edgesScanned, int from, int to) {
+            this.graph = graph;
+            this.parent = parent;
+            this.edgesScanned = edgesScanned;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new LinkTask(graph, parent, edgesScanned, from, middle),
+                        new LinkTask(graph, parent, edgesScanned, middle, to));
+                return;
+            }
+            int[] offsets = graph.offsets;
+            int[] targets = graph.targets;
+            for (int u = from; u < to; u++) {
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    if (targets[i] > u) {
+                        union(parent, u, targets[i]);
+                    }
+                }
+            }
+            edgesScanned.add(offsets[to] - offsets[from]);
+        }
+    }
+}
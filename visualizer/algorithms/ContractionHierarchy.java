@@ -0,0 +1,485 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+import visualizer.graph.IntList;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Contraction hierarchy of a static graph for fast repeated point-to-point queries. Preprocessing
+ * contracts the vertices one by one, cheapest first by edge difference plus the number of already
+ * contracted neighbours; a priority is only re-evaluated when its vertex comes up. Contracting a
+ * vertex adds a shortcut between two of its remaining neighbours unless a bounded witness search
+ * finds a path around it that is at most as short. What is kept is the upward graph: every vertex
+ * with the edges and shortcuts to the neighbours that were contracted after it.
+ *
+ * <p>A query runs Dijkstra upwards from both ends and meets at the highest vertex of a shortest
+ * path, so it settles a few hundred vertices where a plain search settles most of the graph.
+ * Shortcuts remember the vertex they bypass and are unpacked into graph edges for the result.
+ */
+public final class ContractionHierarchy {
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    final int[] offsets;
+    final int[] targets;
+    final long[] weights;
+    final int[] middles;
+    final int[] edgeIds;
+
+    private Side forward;
+    private Side backward;
+
+    ContractionHierarchy(int[] offsets, int[] targets, long[] weights, int[] middles, int[] edgeIds) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.middles = middles;
+        this.edgeIds = edgeIds;
+    }
+
+    public static ContractionHierarchy build(CsrGraph graph) {
+        return build(graph, percent -> { });
+    }
+
+    /**
+     * Contracts every vertex of the snapshot, reporting each new whole percentage of contracted
+     * vertices to {@code progress} on the calling thread.
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    public static ContractionHierarchy build(CsrGraph graph, IntConsumer progress) {
+        Dijkstra.requireNonNegativeWeights(graph);
+        return new Contraction(graph).run(progress);
+    }
+
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    /** Number of upward arcs that stand for a path through a contracted vertex. */
+    public int shortcutCount() {
+        int count = 0;
+        for (int middle : middles) {
+            if (middle >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public Route query(int source, int target) {
+        return query(source, target, StepListener.NONE);
+    }
+
+    /**
+     * Finds a shortest path of the graph the hierarchy was built from. Queries reuse the search
+     * state of the previous one and only reset what it touched, so they run one at a time.
+     */
+    public synchronized Route query(int source, int target, StepListener steps) {
+        if (forward == null) {
+            forward = new Side(vertexCount());
+            backward = new Side(vertexCount());
+        }
+        forward.start(source);
+        backward.start(target);
+        steps.onStep(StepKind.ROOT, source);
+        steps.onStep(StepKind.ROOT, target);
+
+        long best = ShortestPaths.UNREACHABLE;
+        int meeting = -1;
+        Side side = backward;
+        long relaxed = 0;
+        while (true) {
+            Cancellation.checkInterrupted();
+            boolean forwardOpen = forward.isOpenBelow(best);
+            boolean backwardOpen = backward.isOpenBelow(best);
+            if (!forwardOpen && !backwardOpen) {
+                break;
+            }
+            side = !backwardOpen || forwardOpen && side == backward ? forward : backward;
+            Side other = side == forward ? backward : forward;
+            int u = side.open.pollMin();
+            side.settledCount++;
+            if (u != source && u != target) {
+                steps.onStep(StepKind.VISIT_VERTEX, u);
+            }
+            if (other.distance[u] != ShortestPaths.UNREACHABLE && side.distance[u] + other.distance[u] < best) {
+                best = side.distance[u] + other.distance[u];
+                meeting = u;
+            }
+            relaxed += offsets[u + 1] - offsets[u];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                long candidate = side.distance[u] + weights[i];
+                if (candidate < side.distance[v]) {
+                    if (side.distance[v] == ShortestPaths.UNREACHABLE) {
+                        side.touched.add(v);
+                    }
+                    side.distance[v] = candidate;
+                    side.predecessorArc[v] = i;
+                    side.predecessor[v] = u;
+                    side.open.offer(v, candidate);
+                    if (edgeIds[i] >= 0) {
+                        steps.onStep(StepKind.RELAX_EDGE, edgeIds[i]);
+                    }
+                }
+            }
+        }
+
+        int settledCount = forward.settledCount + backward.settledCount;
+        OperationCounter.count(settledCount, relaxed);
+        if (meeting < 0) {
+            return Route.notFound(settledCount);
+        }
+        IntList vertices = new IntList();
+        IntList edges = new IntList();
+        vertices.add(source);
+        IntList upward = new IntList();
+        for (int v = meeting; v != source; v = forward.predecessor[v]) {
+            upward.add(forward.predecessorArc[v]);
+            upward.add(forward.predecessor[v]);
+        }
+        for (int i = upward.size() - 2; i >= 0; i -= 2) {
+            unpack(upward.get(i + 1), upward.get(i), true, vertices, edges);
+        }
+        for (int v = meeting; v != target; v = backward.predecessor[v]) {
+            unpack(backward.predecessor[v], backward.predecessorArc[v], false, vertices, edges);
+        }
+        Route route = new Route(best, vertices.toArray(), edges.toArray(), settledCount);
+        for (int i = 0; i < route.vertexCount() - 1; i++) {
+            steps.onStep(StepKind.ACCEPT_EDGE, route.edge(i));
+        }
+        return route;
+    }
+
+    /**
+     * Appends the graph path of an upward arc of {@code owner}, walked upwards if {@code upwards}
+     * and downwards otherwise, without the vertex it starts from. A shortcut from {@code a} to
+     * {@code b} bypassing {@code m} is the reversed arc from {@code m} to {@code a} followed by the
+     * arc from {@code m} to {@code b}.
+     */
+    private void unpack(int owner, int arc, boolean upwards, IntList vertices, IntList edges) {
+        IntList stack = new IntList();
+        stack.add(owner);
+        stack.add(arc);
+        stack.add(upwards ? 1 : 0);
+        while (!stack.isEmpty()) {
+            boolean up = stack.removeLast() == 1;
+            int a = stack.removeLast();
+            int o = stack.removeLast();
+            if (edgeIds[a] >= 0) {
+                edges.add(edgeIds[a]);
+                vertices.add(up ? targets[a] : o);
+                continue;
+            }
+            int m = middles[a];
+            int toOwner = arcBetween(m, o);
+            int toTarget = arcBetween(m, targets[a]);
+            // Pushed in reverse: the half that comes first along the walk is popped first.
+            int firstArc = up ? toOwner : toTarget;
+            int secondArc = up ? toTarget : toOwner;
+            stack.add(m);
+            stack.add(secondArc);
+            stack.add(1);
+            stack.add(m);
+            stack.add(firstArc);
+            stack.add(0);
+        }
+    }
+
+    private int arcBetween(int owner, int target) {
+        for (int i = offsets[owner]; i < offsets[owner + 1]; i++) {
+            if (targets[i] == target) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Missing arc " + owner + " -> " + target);
+    }
+
+    private static final class Side {
+        private final long[] distance;
+        private final int[] predecessor;
+        private final int[] predecessorArc;
+        private final IndexedMinHeap open;
+        private final IntList touched = new IntList();
+        private int settledCount;
+
+        Side(int n) {
+            distance = new long[n];
+            predecessor = new int[n];
+            predecessorArc = new int[n];
+            open = new IndexedMinHeap(n);
+            Arrays.fill(distance, ShortestPaths.UNREACHABLE);
+        }
+
+        void start(int root) {
+            for (int i = 0; i < touched.size(); i++) {
+                distance[touched.get(i)] = ShortestPaths.UNREACHABLE;
+            }
+            touched.clear();
+            open.clear();
+            settledCount = 0;
+            distance[root] = 0;
+            touched.add(root);
+            open.insert(root, 0);
+        }
+
+        /** Whether this side can still find a path shorter than {@code best}. */
+        boolean isOpenBelow(long best) {
+            return !open.isEmpty() && open.key(open.peekMin()) < best;
+        }
+    }
+
+    /**
+     * The contraction itself, on an undirected multigraph of arcs that are shared by both endpoints.
+     * An arc is unlinked from the lists of its endpoints when one of them is contracted and from
+     * then on only belongs to the upward graph of that vertex.
+     */
+    private static final class Contraction {
+        private final int n;
+        private final IntList[] incident;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbours;
+        private final int[] upwardStart;
+        private final int[] upwardEnd;
+        private final IntList upward = new IntList();
+
+        private int[] arcFrom = new int[16];
+        private int[] arcTo = new int[16];
+        private long[] arcWeight = new long[16];
+        private int[] arcMiddle = new int[16];
+        private int[] arcEdge = new int[16];
+        private int arcCount;
+
+        private final long[] witnessDistance;
+        private final IntList witnessTouched = new IntList();
+        private final IndexedMinHeap witnessOpen;
+        private final int[] witnessTarget;
+        private int witnessStamp;
+
+        Contraction(CsrGraph graph) {
+            n = graph.vertexCount();
+            incident = new IntList[n];
+            contracted = new boolean[n];
+            contractedNeighbours = new int[n];
+            upwardStart = new int[n];
+            upwardEnd = new int[n];
+            witnessDistance = new long[n];
+            witnessOpen = new IndexedMinHeap(n);
+            witnessTarget = new int[n];
+            Arrays.fill(witnessDistance, ShortestPaths.UNREACHABLE);
+            for (int v = 0; v < n; v++) {
+                incident[v] = new IntList(graph.degree(v));
+            }
+            // Rows are sorted by weight, so the first edge to a neighbour is the lightest of its parallels.
+            int[] seen = new int[n];
+            for (int v = 0; v < n; v++) {
+                for (int i = graph.offsets[v]; i < graph.offsets[v + 1]; i++) {
+                    int u = graph.targets[i];
+                    if (u > v && seen[u] != v + 1) {
+                        seen[u] = v + 1;
+                        addArc(v, u, graph.weights[i], -1, graph.edgeIds[i]);
+                    }
+                }
+            }
+        }
+
+        ContractionHierarchy run(IntConsumer progress) {
+            IndexedMinHeap queue = new IndexedMinHeap(n);
+            for (int v = 0; v < n; v++) {
+                Cancellation.checkInterrupted();
+                queue.insert(v, priority(v));
+            }
+            int done = 0;
+            int reported = -1;
+            while (!queue.isEmpty()) {
+                Cancellation.checkInterrupted();
+                int v = queue.pollMin();
+                long priority = priority(v);
+                if (!queue.isEmpty() && priority > queue.key(queue.peekMin())) {
+                    queue.insert(v, priority);
+                    continue;
+                }
+                for (int i = 0; i < incident[v].size(); i++) {
+                    contractedNeighbours[opposite(incident[v].get(i), v)]++;
+                }
+                contract(v, false);
+                int percent = (int) (++done * 100L / n);
+                if (percent != reported) {
+                    reported = percent;
+                    progress.accept(percent);
+                }
+            }
+            return upwardGraph();
+        }
+
+        /**
+         * Twice the edge difference plus the contracted neighbours: low for vertices that are cheap
+         * to remove, and spread over the graph so the hierarchy stays shallow.
+         */
+        private long priority(int v) {
+            return 2L * (contract(v, true) - incident[v].size()) + contractedNeighbours[v];
+        }
+
+        /**
+         * Counts the shortcuts contracting {@code v} needs and, unless {@code simulate}, adds them
+         * and moves {@code v} out of the remaining graph.
+         */
+        private int contract(int v, boolean simulate) {
+            IntList arcs = incident[v];
+            int degree = arcs.size();
+            // The pairs of the i-th neighbour are the later ones, so their heaviest arc bounds its search.
+            long[] maxWeightAfter = new long[degree];
+            for (int i = degree - 2; i >= 0; i--) {
+                maxWeightAfter[i] = Math.max(maxWeightAfter[i + 1], arcWeight[arcs.get(i + 1)]);
+            }
+            int shortcuts = 0;
+            for (int i = 0; i < degree - 1; i++) {
+                int u = opposite(arcs.get(i), v);
+                long toU = arcWeight[arcs.get(i)];
+                int mark = ++witnessStamp;
+                for (int j = i + 1; j < degree; j++) {
+                    witnessTarget[opposite(arcs.get(j), v)] = mark;
+                }
+                witnessSearch(u, v, toU + maxWeightAfter[i], mark, degree - i - 1);
+                for (int j = i + 1; j < degree; j++) {
+                    int w = opposite(arcs.get(j), v);
+                    long via = toU + arcWeight[arcs.get(j)];
+                    if (witnessDistance[w] > via) {
+                        shortcuts++;
+                        if (!simulate) {
+                            addShortcut(u, w, via, v);
+                        }
+                    }
+                }
+                resetWitnessSearch();
+            }
+            if (!simulate) {
+                contracted[v] = true;
+                upwardStart[v] = upward.size();
+                for (int i = 0; i < degree; i++) {
+                    int arc = arcs.get(i);
+                    upward.add(arc);
+                    unlink(opposite(arc, v), arc);
+                }
+                upwardEnd[v] = upward.size();
+                arcs.clear();
+            }
+            return shortcuts;
+        }
+
+        /**
+         * Bounded Dijkstra from {@code from} in the remaining graph without {@code skip} that stops
+         * once the {@code targets} vertices marked with {@code mark} are settled.
+         */
+        private void witnessSearch(int from, int skip, long limit, int mark, int targets) {
+            witnessDistance[from] = 0;
+            witnessTouched.add(from);
+            witnessOpen.insert(from, 0);
+            int settled = 0;
+            while (!witnessOpen.isEmpty() && settled++ < WITNESS_SETTLE_LIMIT) {
+                int u = witnessOpen.pollMin();
+                long du = witnessDistance[u];
+                if (du > limit || witnessTarget[u] == mark && --targets == 0) {
+                    break;
+                }
+                IntList arcs = incident[u];
+                for (int i = 0; i < arcs.size(); i++) {
+                    int arc = arcs.get(i);
+                    int v = opposite(arc, u);
+                    long candidate = du + arcWeight[arc];
+                    if (v != skip && candidate < witnessDistance[v]) {
+                        if (witnessDistance[v] == ShortestPaths.UNREACHABLE) {
+                            witnessTouched.add(v);
+                        }
+                        witnessDistance[v] = candidate;
+                        witnessOpen.offer(v, candidate);
+                    }
+                }
+            }
+        }
+
+        private void resetWitnessSearch() {
+            for (int i = 0; i < witnessTouched.size(); i++) {
+                witnessDistance[witnessTouched.get(i)] = ShortestPaths.UNREACHABLE;
+            }
+            witnessTouched.clear();
+            witnessOpen.clear();
+        }
+
+        private void addShortcut(int u, int w, long weight, int middle) {
+            int from = incident[u].size() <= incident[w].size() ? u : w;
+            IntList arcs = incident[from];
+            int to = from == u ? w : u;
+            for (int i = 0; i < arcs.size(); i++) {
+                int arc = arcs.get(i);
+                if (opposite(arc, from) == to) {
+                    if (weight < arcWeight[arc]) {
+                        arcWeight[arc] = weight;
+                        arcMiddle[arc] = middle;
+                        arcEdge[arc] = -1;
+                    }
+                    return;
+                }
+            }
+            addArc(u, w, weight, middle, -1);
+        }
+
+        private void addArc(int u, int w, long weight, int middle, int edge) {
+            if (arcCount == arcFrom.length) {
+                int capacity = arcCount * 2;
+                arcFrom = Arrays.copyOf(arcFrom, capacity);
+                arcTo = Arrays.copyOf(arcTo, capacity);
+                arcWeight = Arrays.copyOf(arcWeight, capacity);
+                arcMiddle = Arrays.copyOf(arcMiddle, capacity);
+                arcEdge = Arrays.copyOf(arcEdge, capacity);
+            }
+            int arc = arcCount++;
+            arcFrom[arc] = u;
+            arcTo[arc] = w;
+            arcWeight[arc] = weight;
+            arcMiddle[arc] = middle;
+            arcEdge[arc] = edge;
+            incident[u].add(arc);
+            incident[w].add(arc);
+        }
+
+        private void unlink(int v, int arc) {
+            IntList arcs = incident[v];
+            for (int i = 0; i < arcs.size(); i++) {
+                if (arcs.get(i) == arc) {
+                    arcs.set(i, arcs.get(arcs.size() - 1));
+                    arcs.removeLast();
+                    return;
+                }
+            }
+        }
+
+        private int opposite(int arc, int v) {
+            return arcFrom[arc] == v ? arcTo[arc] : arcFrom[arc];
+        }
+
+        private ContractionHierarchy upwardGraph() {
+            int[] offsets = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] = offsets[v] + upwardEnd[v] - upwardStart[v];
+            }
+            int m = offsets[n];
+            int[] targets = new int[m];
+            long[] weights = new long[m];
+            int[] middles = new int[m];
+            int[] edgeIds = new int[m];
+            for (int v = 0; v < n; v++) {
+                for (int i = upwardStart[v], slot = offsets[v]; i < upwardEnd[v]; i++, slot++) {
+                    int arc = upward.get(i);
+                    targets[slot] = opposite(arc, v);
+                    weights[slot] = arcWeight[arc];
+                    middles[slot] = arcMiddle[arc];
+                    edgeIds[slot] = arcEdge[arc];
+                }
+            }
+            return new ContractionHierarchy(offsets, targets, weights, middles, edgeIds);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package visualizer.algorithms;
+
+/**
+ * Bridges, the edges whose removal disconnects their component, and articulation points, the
+ * vertices whose removal does, in the order the search found them.
+ */
+public final class Cuts {
+    private final int[] bridges;
+    private final int bridgeCount;
+    private final int[] articulationPoints;
+    private final int articulationPointCount;
+
+    Cuts(int[] bridges, int bridgeCount, int[] articulationPoints, int articulationPointCount) {
+        this.bridges = bridges;
+        this.bridgeCount = bridgeCount;
+        this.articulationPoints = articulationPoints;
+        this.articulationPointCount = articulationPointCount;
+    }
+
+    public int bridgeCount() {
+        return bridgeCount;
+    }
+
+    public int bridge(int index) {
+        return bridges[index];
+    }
+
+    public int articulationPointCount() {
+        return articulationPointCount;
+    }
+
+    public int articulationPoint(int index) {
+        return articulationPoints[index];
+    }
+}
@@ -0,0 +1,327 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+import visualizer.graph.IntList;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Meyer and Sanders' delta-stepping single-source shortest paths. Tentative distances are grouped
+ * into buckets of width {@code delta}; the lowest bucket is emptied in phases that relax the light
+ * edges ({@code weight <= delta}) of its vertices in parallel on the common fork/join pool, after
+ * which the heavy edges of everything it settled are relaxed once, also in parallel. Distances live
+ * in a plain {@code long[]} lowered with compare-and-set. Because CSR rows are sorted by weight, the
+ * light edges of a vertex are a prefix of its row.
+ *
+ * <p>Distances are identical to {@link Dijkstra}'s. Predecessors are chosen once a bucket is final,
+ * preferring the lightest tight edge from a strictly closer vertex, so the tree is deterministic,
+ * but among equally short paths it may pick a different one than the heap-based engine.
+ */
+public final class DeltaStepping {
+    private static final VarHandle DISTANCE = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int GRAIN = 256;
+
+    private DeltaStepping() {
+    }
+
+    public static ShortestPaths run(CsrGraph graph, int source) {
+        return run(graph, source, defaultDelta(graph), StepListener.NONE);
+    }
+
+    /**
+     * Bucket width suggested by Meyer and Sanders for random weights: the largest weight divided by
+     * the average degree, but at least 1.
+     */
+    public static int defaultDelta(CsrGraph graph) {
+        int maxWeight = 0;
+        for (int weight : graph.weights) {
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        long averageDegree = Math.max(1, graph.targets.length / Math.max(1, graph.vertexCount()));
+        return (int) Math.max(1, maxWeight / averageDegree);
+    }
+
+    /**
+     * Computes shortest paths from {@code source} with buckets {@code delta} wide.
+     *
+     * @throws IllegalArgumentException if {@code delta} is not positive or the graph has a negative edge weight
+     */
+    public static ShortestPaths run(CsrGraph graph, int source, int delta, StepListener steps) {
+        if (delta <= 0) {
+            throw new IllegalArgumentException("Delta must be positive: " + delta);
+        }
+        Dijkstra.requireNonNegativeWeights(graph);
+        return new Search(graph, delta).run(source, steps);
+    }
+
+    private static final class Search {
+        private final CsrGraph graph;
+        private final int delta;
+        private final int n;
+        private int source;
+        private final long[] distance;
+        private final int[] predecessor;
+        private final int[] predecessorEdge;
+        private final int[] lightEnd;
+        private final boolean[] settledMarks;
+        private final int[] settled;
+        private int settledCount;
+
+        private final int[] frontierStamp;
+        private final int[] bucketStamp;
+        private int stamp;
+        private final TreeMap<Long, IntList> buckets = new TreeMap<>();
+        private final LongAdder edgesScanned = new LongAdder();
+
+        Search(CsrGraph graph, int delta) {
+            this.graph = graph;
+            this.delta = delta;
+            this.n = graph.vertexCount();
+            this.distance = new long[n];
+            this.predecessor = new int[n];
+            this.predecessorEdge = new int[n];
+            this.lightEnd = new int[n];
+            this.settledMarks = new boolean[n];
+            this.settled = new int[n];
+            this.frontierStamp = new int[n];
+            this.bucketStamp = new int[n];
+            Arrays.fill(distance, ShortestPaths.UNREACHABLE);
+            Arrays.fill(predecessor, -1);
+            Arrays.fill(predecessorEdge, -1);
+            Arrays.fill(lightEnd, -1);
+        }
+
+        ShortestPaths run(int source, StepListener steps) {
+            this.source = source;
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            distance[source] = 0;
+            bucket(0).add(source);
+            steps.onStep(StepKind.ROOT, source);
+
+            IntList members = new IntList();
+            while (!buckets.isEmpty()) {
+                Map.Entry<Long, IntList> lowest = buckets.pollFirstEntry();
+                long index = lowest.getKey();
+                int bucketMark = ++stamp;
+                members.clear();
+                IntList frontier = frontier(lowest.getValue(), index, members, bucketMark);
+                while (!frontier.isEmpty()) {
+                    Cancellation.checkInterrupted();
+                    Relaxation light = new Relaxation(frontier, 0, frontier.size(), true);
+                    pool.invoke(light);
+                    IntList improved = light.collect(steps);
+                    frontier = frontier(improved, index, members, bucketMark);
+                }
+                settle(members, index, steps);
+                Relaxation heavy = new Relaxation(members, 0, members.size(), false);
+                pool.invoke(heavy);
+                IntList improved = heavy.collect(steps);
+                for (int i = 0; i < improved.size(); i++) {
+                    bucket(distance[improved.get(i)] / delta).add(improved.get(i));
+                }
+            }
+            OperationCounter.count(settledCount, edgesScanned.sum());
+            return new ShortestPaths(source, distance, predecessor, predecessorEdge, settled, settledCount);
+        }
+
+        /**
+         * Deduplicates the candidates that still belong to bucket {@code index} into the next
+         * frontier and records them as members of the bucket; everything else moves to its bucket.
+         */
+        private IntList frontier(IntList candidates, long index, IntList members, int bucketMark) {
+            int frontierMark = ++stamp;
+            IntList frontier = new IntList();
+            for (int i = 0; i < candidates.size(); i++) {
+                int v = candidates.get(i);
+                if (settledMarks[v]) {
+                    continue;
+                }
+                long target = distance[v] / delta;
+                if (target != index) {
+                    bucket(target).add(v);
+                } else if (frontierStamp[v] != frontierMark) {
+                    frontierStamp[v] = frontierMark;
+                    frontier.add(v);
+                    if (bucketStamp[v] != bucketMark) {
+                        bucketStamp[v] = bucketMark;
+                        members.add(v);
+                    }
+                }
+            }
+            return frontier;
+        }
+
+        /**
+         * Settles the final members of a bucket in distance order and picks their predecessors:
+         * the lightest tight edge from a strictly closer vertex, or else a zero-weight tight edge
+         * from a vertex of the same distance that already has one.
+         */
+        private void settle(IntList members, long index, StepListener steps) {
+            long base = index * delta;
+            long[] keys = new long[members.size()];
+            for (int i = 0; i < keys.length; i++) {
+                int v = members.get(i);
+                keys[i] = (distance[v] - base) << 32 | v;
+            }
+            Arrays.sort(keys);
+
+            int[] offsets = graph.offsets;
+            int[] targets = graph.targets;
+            int[] weights = graph.weights;
+            int[] edgeIds = graph.edgeIds;
+            int first = settledCount;
+            for (long key : keys) {
+                int v = (int) key;
+                settledMarks[v] = true;
+                settled[settledCount++] = v;
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    long du = distance[targets[i]];
+                    if (weights[i] > 0 && du != ShortestPaths.UNREACHABLE && du + weights[i] == distance[v]) {
+                        predecessor[v] = targets[i];
+                        predecessorEdge[v] = edgeIds[i];
+                        break;
+                    }
+                }
+            }
+            // Vertices only reachable over zero-weight edges inherit from equally distant ones.
+            IntList pending = new IntList();
+            for (int s = first; s < settledCount; s++) {
+                if (predecessorEdge[settled[s]] >= 0 || settled[s] == source) {
+                    pending.add(settled[s]);
+                }
+            }
+            while (!pending.isEmpty()) {
+                int u = pending.get(pending.size() - 1);
+                pending.removeLast();
+                for (int i = offsets[u]; i < offsets[u + 1] && weights[i] == 0; i++) {
+                    int v = targets[i];
+                    if (predecessorEdge[v] < 0 && v != source && distance[v] == distance[u]) {
+                        predecessor[v] = u;
+                        predecessorEdge[v] = edgeIds[i];
+                        pending.add(v);
+                    }
+                }
+            }
+            for (int s = first; s < settledCount; s++) {
+                int v = settled[s];
+                if (predecessorEdge[v] >= 0) {
+                    steps.onStep(StepKind.ACCEPT_EDGE, predecessorEdge[v]);
+                    steps.onStep(StepKind.VISIT_VERTEX, v);
+                }
+            }
+        }
+
+        private IntList bucket(long index) {
+            return buckets.computeIfAbsent(index, k -> new IntList());
+        }
+
+        private int lightEnd(int u) {
+            int end = lightEnd[u];
+            if (end < 0) {
+                int low = graph.offsets[u];
+                int high = graph.offsets[u + 1];
+                while (low < high) {
+                    int middle = (low + high) >>> 1;
+                    if (graph.weights[middle] <= delta) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                end = low;
+                lightEnd[u] = end;
+            }
+            return end;
+        }
+
+        /** Relaxes the light or heavy edges of a range of vertices, collecting every improvement. */
+        private final class Relaxation extends RecursiveAction {
+            private final IntList sources;
+            private final int from;
+            private final int to;
+            private final boolean light;
+            private final List<IntList[]> results;
+
+            Relaxation(IntList sources, int from, int to, boolean light) {
+                this(sources, from, to, light, new ArrayList<>());
+            }
+
+            private Relaxation(IntList sources, int from, int to, boolean light, List<IntList[]> results) {
+                this.sources = sources;
+                this.from = from;
+                this.to = to;
+                this.light = light;
+                this.results = results;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > GRAIN) {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new Relaxation(sources, from, middle, light, results),
+                            new Relaxation(sources, middle, to, light, results));
+                    return;
+                }
+                int[] offsets = graph.offsets;
+                int[] targets = graph.targets;
+                int[] weights = graph.weights;
+                int[] edgeIds = graph.edgeIds;
+                IntList vertices = new IntList();
+                IntList edges = new IntList();
+                long scanned = 0;
+                for (int s = from; s < to; s++) {
+                    int u = sources.get(s);
+                    long du = (long) DISTANCE.getVolatile(distance, u);
+                    int start = light ? offsets[u] : lightEnd(u);
+                    int end = light ? lightEnd(u) : offsets[u + 1];
+                    scanned += end - start;
+                    for (int i = start; i < end; i++) {
+                        int v = targets[i];
+                        if (lower(v, du + weights[i])) {
+                            vertices.add(v);
+                            edges.add(edgeIds[i]);
+                        }
+                    }
+                }
+                edgesScanned.add(scanned);
+                if (!vertices.isEmpty()) {
+                    synchronized (results) {
+                        results.add(new IntList[] {vertices, edges});
+                    }
+                }
+            }
+
+            private boolean lower(int v, long candidate) {
+                long current = (long) DISTANCE.getVolatile(distance, v);
+                while (candidate < current) {
+                    if (DISTANCE.compareAndSet(distance, v, current, candidate)) {
+                        return true;
+                    }
+                    current = (long) DISTANCE.getVolatile(distance, v);
+                }
+                return false;
+            }
+
+            /** Improved vertices of the whole run, after emitting one relax step per improvement. */
+            IntList collect(StepListener steps) {
+                IntList improved = new IntList();
+                for (IntList[] result : results) {
+                    for (int i = 0; i < result[0].size(); i++) {
+                        improved.add(result[0].get(i));
+                        steps.onStep(StepKind.RELAX_EDGE, result[1].get(i));
+                    }
+                }
+                return improved;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+
+/**
+ * Depth-first search with an explicit stack, so deep graphs cannot overflow the call stack.
+ * Neighbours are explored in CSR row order, i.e. lightest edge first, which matches the order of
+ * the recursive formulation.
+ */
+public final class DepthFirstSearch {
+
+    private DepthFirstSearch() {
+    }
+
+    public static Traversal run(CsrGraph graph, int root) {
+        return run(graph, root, StepListener.NONE);
+    }
+
+    public static Traversal run(CsrGraph graph, int root, StepListener steps) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] edgeIds = graph.edgeIds;
+
+        boolean[] visited = new boolean[n];
+        int[] order = new int[n];
+        int[] treeEdges = new int[n];
+        int count = 0;
+
+        int[] stackVertices = new int[n];
+        int[] stackSlots = new int[n];
+        int top = 0;
+        stackVertices[0] = root;
+        stackSlots[0] = offsets[root];
+        visited[root] = true;
+        steps.onStep(StepKind.ROOT, root);
+        order[count] = root;
+        treeEdges[count++] = -1;
+        long relaxed = graph.degree(root);
+
+        while (top >= 0) {
+            Cancellation.checkInterrupted();
+            int u = stackVertices[top];
+            int end = offsets[u + 1];
+            int i = stackSlots[top];
+            while (i < end && visited[targets[i]]) {
+                i++;
+            }
+            if (i == end) {
+                top--;
+                continue;
+            }
+            stackSlots[top] = i + 1;
+            int v = targets[i];
+            visited[v] = true;
+            order[count] = v;
+            treeEdges[count++] = edgeIds[i];
+            steps.onStep(StepKind.ACCEPT_EDGE, edgeIds[i]);
+            steps.onStep(StepKind.VISIT_VERTEX, v);
+            relaxed += graph.degree(v);
+            top++;
+            stackVertices[top] = v;
+            stackSlots[top] = offsets[v];
+        }
+        OperationCounter.count(count, relaxed);
+        return new Traversal(order, treeEdges, count);
+    }
+}
@@ -0,0 +1,94 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra's algorithm over a {@link CsrGraph} using an indexed binary heap with decrease-key, so
+ * every vertex is settled exactly once and the run takes O(E log V).
+ */
+public final class Dijkstra {
+
+    private Dijkstra() {
+    }
+
+    public static ShortestPaths run(CsrGraph graph, int source) {
+        return run(graph, source, -1, StepListener.NONE);
+    }
+
+    public static ShortestPaths run(CsrGraph graph, int source, int target) {
+        return run(graph, source, target, StepListener.NONE);
+    }
+
+    /**
+     * Computes shortest paths from {@code source}. When {@code target} is not {@code -1} the search
+     * stops as soon as the target is settled, so only the distances of settled vertices are final.
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    public static ShortestPaths run(CsrGraph graph, int source, int target, StepListener steps) {
+        requireNonNegativeWeights(graph);
+
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] weights = graph.weights;
+        int[] edgeIds = graph.edgeIds;
+
+        long[] distance = new long[n];
+        int[] predecessor = new int[n];
+        int[] predecessorEdge = new int[n];
+        boolean[] settledMarks = new boolean[n];
+        int[] settled = new int[n];
+        int settledCount = 0;
+        Arrays.fill(distance, ShortestPaths.UNREACHABLE);
+        Arrays.fill(predecessor, -1);
+        Arrays.fill(predecessorEdge, -1);
+
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        distance[source] = 0;
+        heap.insert(source, 0);
+        steps.onStep(StepKind.ROOT, source);
+        long relaxed = 0;
+        while (!heap.isEmpty()) {
+            Cancellation.checkInterrupted();
+            int u = heap.pollMin();
+            settledMarks[u] = true;
+            settled[settledCount++] = u;
+            if (predecessorEdge[u] >= 0) {
+                steps.onStep(StepKind.ACCEPT_EDGE, predecessorEdge[u]);
+                steps.onStep(StepKind.VISIT_VERTEX, u);
+            }
+            if (u == target) {
+                break;
+            }
+            long du = distance[u];
+            relaxed += offsets[u + 1] - offsets[u];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (settledMarks[v]) {
+                    continue;
+                }
+                long candidate = du + weights[i];
+                if (candidate < distance[v]) {
+                    distance[v] = candidate;
+                    predecessor[v] = u;
+                    predecessorEdge[v] = edgeIds[i];
+                    heap.offer(v, candidate);
+                    steps.onStep(StepKind.RELAX_EDGE, edgeIds[i]);
+                }
+            }
+        }
+        OperationCounter.count(settledCount, relaxed);
+        return new ShortestPaths(source, distance, predecessor, predecessorEdge, settled, settledCount);
+    }
+
+    static void requireNonNegativeWeights(CsrGraph graph) {
+        for (int weight : graph.weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative edge weight " + weight);
+            }
+        }
+    }
+}
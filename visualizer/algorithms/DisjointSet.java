@@ -0,0 +1,79 @@
+package visualizer.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Union-find over {@code 0..size-1} with path compression and union by rank.
+ */
+public final class DisjointSet {
+    private int[] parent;
+    private byte[] rank;
+    private int components;
+
+    public DisjointSet(int size) {
+        parent = new int[size];
+        rank = new byte[size];
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+        components = size;
+    }
+
+    /** Adds singleton sets up to {@code size}. */
+    public void grow(int size) {
+        int old = parent.length;
+        if (size <= old) {
+            return;
+        }
+        parent = Arrays.copyOf(parent, size);
+        rank = Arrays.copyOf(rank, size);
+        for (int i = old; i < size; i++) {
+            parent[i] = i;
+        }
+        components += size - old;
+    }
+
+    public int find(int x) {
+        int root = x;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[x] != root) {
+            int next = parent[x];
+            parent[x] = root;
+            x = next;
+        }
+        return root;
+    }
+
+    /** Merges the sets of {@code a} and {@code b}; returns {@code false} if they were already joined. */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+        components--;
+        return true;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    public int components() {
+        return components;
+    }
+
+    public int size() {
+        return parent.length;
+    }
+}
@@ -0,0 +1,131 @@
+package visualizer.algorithms;
+
+import visualizer.graph.EditLog;
+import visualizer.graph.Graph;
+
+import java.util.Arrays;
+
+/**
+ * Connected components kept up to date while the graph is edited, in a {@link DisjointSet} over the
+ * vertex ids. Added vertices are new singletons and added edges are unions, so insertions cost
+ * almost nothing. Union-find cannot split a set, so removing an edge means joining all edges again;
+ * removing a vertex only ever happens to an isolated one, which just leaves the count.
+ */
+public final class DynamicComponents implements DynamicResult {
+    private final Graph graph;
+    private DisjointSet sets;
+    private int componentCount;
+    private int position;
+    private boolean incremental = true;
+
+    /** Components of the current state of {@code graph}, in which the edit log ends just before {@code logPosition}. */
+    public DynamicComponents(Graph graph, int logPosition) {
+        this.graph = graph;
+        this.position = logPosition;
+        rebuild();
+    }
+
+    /**
+     * Takes over {@code components} found on a snapshot with {@code vertexCount} vertices, taken when
+     * the edit log ended just before {@code logPosition}. Joins each vertex to the first one of its
+     * component, so no edge is looked at again.
+     */
+    public DynamicComponents(Graph graph, Components components, int vertexCount, int logPosition) {
+        this.graph = graph;
+        this.position = logPosition;
+        int n = components.vertexLimit();
+        sets = new DisjointSet(Math.max(1, n));
+        componentCount = vertexCount;
+        int[] first = new int[components.count()];
+        Arrays.fill(first, -1);
+        for (int v = 0; v < n; v++) {
+            int c = components.component(v);
+            if (first[c] < 0) {
+                first[c] = v;
+            } else if (sets.union(first[c], v)) {
+                componentCount--;
+            }
+        }
+    }
+
+    @Override
+    public boolean update(EditLog log) {
+        if (position < log.firstRecord()) {
+            return false;
+        }
+        incremental = true;
+        if (graph.vertexLimit() > sets.size()) {
+            sets.grow(Math.max(graph.vertexLimit(), 2 * sets.size()));
+        }
+        boolean rebuild = false;
+        for (; position < log.size() && !rebuild; position++) {
+            switch (log.kind(position)) {
+                case ADD_VERTEX -> componentCount++;
+                case REMOVE_VERTEX -> componentCount--;
+                case ADD_EDGE -> {
+                    if (sets.union(log.source(position), log.target(position))) {
+                        componentCount--;
+                    }
+                }
+                case REMOVE_EDGE -> rebuild = true;
+            }
+        }
+        position = log.size();
+        if (rebuild) {
+            incremental = false;
+            rebuild();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean lastUpdateIncremental() {
+        return incremental;
+    }
+
+    public int componentCount() {
+        return componentCount;
+    }
+
+    public boolean connected(int u, int v) {
+        return sets.connected(u, v);
+    }
+
+    /** Representative vertex of the component of {@code v}; equal for vertices of one component. */
+    public int component(int v) {
+        return sets.find(v);
+    }
+
+    /**
+     * Component number of every vertex id, from zero in the order of the smallest vertex of each
+     * component; -1 for removed ids.
+     */
+    public int[] labels() {
+        int n = graph.vertexLimit();
+        int[] labels = new int[n];
+        int[] numbers = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            if (!graph.containsVertex(v)) {
+                labels[v] = -1;
+                continue;
+            }
+            int root = sets.find(v);
+            if (numbers[root] == 0) {
+                numbers[root] = ++count;
+            }
+            labels[v] = numbers[root] - 1;
+        }
+        return labels;
+    }
+
+    private void rebuild() {
+        sets = new DisjointSet(Math.max(1, graph.vertexLimit()));
+        componentCount = graph.vertexCount();
+        for (int e = 0; e < graph.edgeLimit(); e++) {
+            if (graph.containsEdge(e) && sets.union(graph.source(e), graph.target(e))) {
+                componentCount--;
+            }
+        }
+    }
+}
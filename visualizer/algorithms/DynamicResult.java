@@ -0,0 +1,21 @@
+package visualizer.algorithms;
+
+import visualizer.graph.EditLog;
+
+/**
+ * Algorithm result that follows the edits of its graph instead of being computed again. It reads
+ * the {@link EditLog} from where it last stopped, repairs itself locally where it can and falls
+ * back to a full run when an edit breaks something it cannot repair.
+ */
+public interface DynamicResult {
+    /**
+     * Applies the records of {@code log} not seen yet and reports whether the result still exists;
+     * it does not once the log has been cleared or the vertex it belongs to has been removed.
+     *
+     * @throws IllegalArgumentException if a full run was needed and the edited graph does not allow it
+     */
+    boolean update(EditLog log);
+
+    /** Whether the last {@link #update} got by without a full run. */
+    boolean lastUpdateIncremental();
+}
@@ -0,0 +1,187 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+import visualizer.graph.EditLog;
+import visualizer.graph.Graph;
+
+import java.util.Arrays;
+
+/**
+ * Single-source shortest paths kept up to date while the graph is edited. An inserted edge that
+ * shortens the way to one of its endpoints is repaired by a Dijkstra search seeded at that
+ * endpoint, which only visits the vertices whose distance drops. Removing an edge of the tree
+ * can make distances grow, which is left to a full run; removing any other edge changes nothing.
+ * An inserted negative edge also needs a full run, which then rejects it.
+ */
+public final class DynamicShortestPaths implements DynamicResult {
+    private final Graph graph;
+    private final int source;
+    private long[] distance;
+    private int[] predecessor;
+    private int[] predecessorEdge;
+    private IndexedMinHeap queue;
+    private int position;
+    private boolean incremental = true;
+    private int changedCount;
+
+    /**
+     * Follows {@code paths}, computed on the state of {@code graph} in which the edit log ended
+     * just before {@code logPosition}.
+     */
+    public DynamicShortestPaths(Graph graph, ShortestPaths paths, int logPosition) {
+        this.graph = graph;
+        this.source = paths.source();
+        this.position = logPosition;
+        adopt(paths);
+    }
+
+    /** Runs Dijkstra from {@code source} on the current state of {@code graph}. */
+    public static DynamicShortestPaths compute(Graph graph, int source, int logPosition) {
+        return new DynamicShortestPaths(graph, Dijkstra.run(CsrGraph.of(graph), source), logPosition);
+    }
+
+    @Override
+    public boolean update(EditLog log) {
+        if (position < log.firstRecord()) {
+            return false;
+        }
+        incremental = true;
+        changedCount = 0;
+        // Repairs walk the current adjacency, which may already hold vertices added by later records.
+        ensureCapacity(graph.vertexLimit());
+        boolean rebuild = false;
+        for (; position < log.size() && !rebuild; position++) {
+            int element = log.element(position);
+            switch (log.kind(position)) {
+                case ADD_VERTEX -> rebuild = distance[element] != ShortestPaths.UNREACHABLE;
+                case REMOVE_VERTEX -> {
+                    if (element == source) {
+                        position = log.size();
+                        return false;
+                    }
+                    rebuild = distance[element] != ShortestPaths.UNREACHABLE;
+                }
+                case ADD_EDGE -> {
+                    int u = log.source(position);
+                    int v = log.target(position);
+                    int weight = log.weight(position);
+                    if (weight < 0) {
+                        rebuild = true;
+                    } else {
+                        relax(u, v, weight, element);
+                        relax(v, u, weight, element);
+                        propagate();
+                    }
+                }
+                case REMOVE_EDGE -> {
+                    int u = log.source(position);
+                    int v = log.target(position);
+                    rebuild = predecessorEdge[u] == element && predecessor[u] == v
+                            || predecessorEdge[v] == element && predecessor[v] == u;
+                }
+            }
+        }
+        position = log.size();
+        if (rebuild) {
+            incremental = false;
+            adopt(Dijkstra.run(CsrGraph.of(graph), source));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean lastUpdateIncremental() {
+        return incremental;
+    }
+
+    /** Vertices whose distance dropped during the last incremental update. */
+    public int changedCount() {
+        return changedCount;
+    }
+
+    public int source() {
+        return source;
+    }
+
+    public long distance(int v) {
+        return distance[v];
+    }
+
+    public int predecessorEdge(int v) {
+        return predecessorEdge[v];
+    }
+
+    /** The current distances as a result of their own, with the reached vertices in distance order. */
+    public ShortestPaths paths() {
+        int n = distance.length;
+        IndexedMinHeap order = new IndexedMinHeap(n);
+        for (int v = 0; v < n; v++) {
+            if (distance[v] != ShortestPaths.UNREACHABLE) {
+                order.insert(v, distance[v]);
+            }
+        }
+        int[] settled = new int[order.size()];
+        int settledCount = 0;
+        while (!order.isEmpty()) {
+            settled[settledCount++] = order.pollMin();
+        }
+        return new ShortestPaths(source, distance.clone(), predecessor.clone(), predecessorEdge.clone(), settled,
+                settledCount);
+    }
+
+    private void relax(int from, int to, int weight, int edge) {
+        if (distance[from] == ShortestPaths.UNREACHABLE || distance[from] + weight >= distance[to]) {
+            return;
+        }
+        distance[to] = distance[from] + weight;
+        predecessor[to] = from;
+        predecessorEdge[to] = edge;
+        queue.offer(to, distance[to]);
+    }
+
+    private void propagate() {
+        int settled = 0;
+        long relaxed = 0;
+        while (!queue.isEmpty()) {
+            int u = queue.pollMin();
+            changedCount++;
+            settled++;
+            relaxed += graph.degree(u);
+            for (int i = 0; i < graph.degree(u); i++) {
+                int e = graph.incidentEdge(u, i);
+                // A negative edge inserted by a later record forces a full run there.
+                if (graph.weight(e) >= 0) {
+                    relax(u, graph.opposite(e, u), graph.weight(e), e);
+                }
+            }
+        }
+        OperationCounter.count(settled, relaxed);
+    }
+
+    private void adopt(ShortestPaths paths) {
+        int n = paths.vertexLimit();
+        distance = new long[n];
+        predecessor = new int[n];
+        predecessorEdge = new int[n];
+        for (int v = 0; v < n; v++) {
+            distance[v] = paths.distance(v);
+            predecessor[v] = paths.predecessor(v);
+            predecessorEdge[v] = paths.predecessorEdge(v);
+        }
+        queue = new IndexedMinHeap(n);
+    }
+
+    private void ensureCapacity(int capacity) {
+        int n = distance.length;
+        if (capacity <= n) {
+            return;
+        }
+        distance = Arrays.copyOf(distance, capacity);
+        predecessor = Arrays.copyOf(predecessor, capacity);
+        predecessorEdge = Arrays.copyOf(predecessorEdge, capacity);
+        Arrays.fill(distance, n, capacity, ShortestPaths.UNREACHABLE);
+        Arrays.fill(predecessor, n, capacity, -1);
+        Arrays.fill(predecessorEdge, n, capacity, -1);
+        queue = new IndexedMinHeap(capacity);
+    }
+}
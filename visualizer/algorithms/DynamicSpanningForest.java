@@ -0,0 +1,233 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+import visualizer.graph.EditKind;
+import visualizer.graph.EditLog;
+import visualizer.graph.Graph;
+
+import java.util.Arrays;
+
+/**
+ * Minimum spanning forest kept up to date while the graph is edited. The forest is stored as
+ * parent pointers. An inserted edge between two trees joins them. An edge inside one tree closes a
+ * cycle, found by walking up from both endpoints to where their ancestor chains meet; if the new
+ * edge is lighter than the heaviest edge on that cycle, it takes that edge's place. Both cost the
+ * length of the cycle rather than a sort of all edges. Removing a forest edge leaves a gap that
+ * only a full run can fill minimally; removing any other edge changes nothing.
+ */
+public final class DynamicSpanningForest implements DynamicResult {
+    private final Graph graph;
+    private int[] parent;
+    private int[] parentEdge;
+    private int[] parentWeight;
+    private int[] marks;
+    private int stamp;
+    private int edgeCount;
+    private long totalWeight;
+    private int position;
+    private boolean incremental = true;
+
+    /**
+     * Follows {@code forest}, a minimum spanning forest of the state of {@code graph} in which the
+     * edit log ended just before {@code logPosition}, as {@link Kruskal} computes it.
+     */
+    public DynamicSpanningForest(Graph graph, SpanningTree forest, int logPosition) {
+        this.graph = graph;
+        this.position = logPosition;
+        adopt(forest);
+    }
+
+    /** Runs Kruskal on the current state of {@code graph}. */
+    public static DynamicSpanningForest compute(Graph graph, int logPosition) {
+        return new DynamicSpanningForest(graph, Kruskal.run(CsrGraph.of(graph)), logPosition);
+    }
+
+    @Override
+    public boolean update(EditLog log) {
+        if (position < log.firstRecord()) {
+            return false;
+        }
+        incremental = true;
+        ensureCapacity(graph.vertexLimit());
+        boolean rebuild = false;
+        for (; position < log.size() && !rebuild; position++) {
+            int e = log.element(position);
+            if (log.kind(position) == EditKind.ADD_EDGE) {
+                insert(e, log.source(position), log.target(position), log.weight(position));
+            } else if (log.kind(position) == EditKind.REMOVE_EDGE) {
+                int u = log.source(position);
+                int v = log.target(position);
+                rebuild = parentEdge[u] == e && parent[u] == v || parentEdge[v] == e && parent[v] == u;
+            }
+            // A vertex is added without edges and loses its edges before it is removed.
+        }
+        position = log.size();
+        if (rebuild) {
+            incremental = false;
+            adopt(Kruskal.run(CsrGraph.of(graph)));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean lastUpdateIncremental() {
+        return incremental;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public long totalWeight() {
+        return totalWeight;
+    }
+
+    /** The current forest as a result of its own, with every edge pointing from parent to child. */
+    public SpanningTree tree() {
+        int[] edges = new int[edgeCount];
+        int[] parents = new int[edgeCount];
+        int[] children = new int[edgeCount];
+        int count = 0;
+        for (int v = 0; v < parent.length; v++) {
+            if (parent[v] >= 0) {
+                edges[count] = parentEdge[v];
+                parents[count] = parent[v];
+                children[count] = v;
+                count++;
+            }
+        }
+        return new SpanningTree(edges, parents, children, count, totalWeight);
+    }
+
+    private void insert(int e, int u, int v, int weight) {
+        if (u == v) {
+            return;
+        }
+        stamp++;
+        for (int x = u; x >= 0; x = parent[x]) {
+            marks[x] = stamp;
+        }
+        int meet = v;
+        while (meet >= 0 && marks[meet] != stamp) {
+            meet = parent[meet];
+        }
+        if (meet < 0) {
+            link(u, v, e, weight);
+            edgeCount++;
+            totalWeight += weight;
+            return;
+        }
+        int heaviest = -1;
+        boolean heaviestAboveU = false;
+        for (int x = u; x != meet; x = parent[x]) {
+            if (heaviest < 0 || parentWeight[x] > parentWeight[heaviest]) {
+                heaviest = x;
+                heaviestAboveU = true;
+            }
+        }
+        for (int x = v; x != meet; x = parent[x]) {
+            if (heaviest < 0 || parentWeight[x] > parentWeight[heaviest]) {
+                heaviest = x;
+                heaviestAboveU = false;
+            }
+        }
+        if (parentWeight[heaviest] <= weight) {
+            return;
+        }
+        totalWeight += weight - parentWeight[heaviest];
+        // Cutting the heaviest edge leaves the endpoint below it in a tree rooted at heaviest.
+        parent[heaviest] = -1;
+        parentEdge[heaviest] = -1;
+        if (heaviestAboveU) {
+            link(u, v, e, weight);
+        } else {
+            link(v, u, e, weight);
+        }
+    }
+
+    /** Makes {@code child} the root of its tree and hangs it below {@code newParent}. */
+    private void link(int child, int newParent, int e, int weight) {
+        int previous = -1;
+        int previousEdge = -1;
+        int previousWeight = 0;
+        for (int x = child; x >= 0; ) {
+            int next = parent[x];
+            int nextEdge = parentEdge[x];
+            int nextWeight = parentWeight[x];
+            parent[x] = previous;
+            parentEdge[x] = previousEdge;
+            parentWeight[x] = previousWeight;
+            previous = x;
+            previousEdge = nextEdge;
+            previousWeight = nextWeight;
+            x = next;
+        }
+        parent[child] = newParent;
+        parentEdge[child] = e;
+        parentWeight[child] = weight;
+    }
+
+    private void adopt(SpanningTree forest) {
+        int n = graph.vertexLimit();
+        parent = new int[n];
+        parentEdge = new int[n];
+        parentWeight = new int[n];
+        marks = new int[n];
+        Arrays.fill(parent, -1);
+        Arrays.fill(parentEdge, -1);
+        edgeCount = forest.edgeCount();
+        totalWeight = forest.totalWeight();
+
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[forest.parent(i) + 1]++;
+            offsets[forest.child(i) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] fill = Arrays.copyOf(offsets, n);
+        int[] incident = new int[2 * edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            incident[fill[forest.parent(i)]++] = i;
+            incident[fill[forest.child(i)]++] = i;
+        }
+        boolean[] seen = new boolean[n];
+        int[] stack = new int[n];
+        for (int root = 0; root < n; root++) {
+            if (seen[root] || offsets[root] == offsets[root + 1]) {
+                continue;
+            }
+            seen[root] = true;
+            int size = 0;
+            stack[size++] = root;
+            while (size > 0) {
+                int u = stack[--size];
+                for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                    int i = incident[k];
+                    int v = forest.parent(i) == u ? forest.child(i) : forest.parent(i);
+                    if (!seen[v]) {
+                        seen[v] = true;
+                        parent[v] = u;
+                        parentEdge[v] = forest.edge(i);
+                        parentWeight[v] = graph.weight(forest.edge(i));
+                        stack[size++] = v;
+                    }
+                }
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        int n = parent.length;
+        if (capacity <= n) {
+            return;
+        }
+        parent = Arrays.copyOf(parent, capacity);
+        parentEdge = Arrays.copyOf(parentEdge, capacity);
+        parentWeight = Arrays.copyOf(parentWeight, capacity);
+        marks = Arrays.copyOf(marks, capacity);
+        Arrays.fill(parent, n, capacity, -1);
+        Arrays.fill(parentEdge, n, capacity, -1);
+    }
+}
@@ -0,0 +1,157 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+import visualizer.graph.Graph;
+import visualizer.graph.IntList;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Stores a {@link ContractionHierarchy} in a {@code .ch} file next to the graph file it was built
+ * for. Vertices are numbered densely in id order, like the graph files do, and edges are identified
+ * by their endpoints and weight rather than by id, so the hierarchy survives any format that keeps
+ * the vertex order. A fingerprint of all edges guards against pairing it with a different graph.
+ */
+public final class HierarchyFiles {
+    private static final int MAGIC = 0x31484347;
+    private static final String EXTENSION = ".ch";
+
+    private HierarchyFiles() {
+    }
+
+    /** The hierarchy file that belongs to the graph file {@code graphPath}. */
+    public static Path sidecar(Path graphPath) {
+        return graphPath.resolveSibling(graphPath.getFileName() + EXTENSION);
+    }
+
+    /** Writes {@code hierarchy}, which must have been built from the current state of {@code graph}. */
+    public static void write(ContractionHierarchy hierarchy, Graph graph, Path path) throws IOException {
+        int[] denseIds = denseIds(graph);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(graph.vertexCount());
+            out.writeInt(graph.edgeCount());
+            out.writeLong(fingerprint(graph, denseIds));
+            for (int v = 0; v < graph.vertexLimit(); v++) {
+                if (!graph.containsVertex(v)) {
+                    continue;
+                }
+                out.writeInt(hierarchy.offsets[v + 1] - hierarchy.offsets[v]);
+                for (int i = hierarchy.offsets[v]; i < hierarchy.offsets[v + 1]; i++) {
+                    out.writeInt(denseIds[hierarchy.targets[i]]);
+                    out.writeLong(hierarchy.weights[i]);
+                    out.writeInt(hierarchy.middles[i] < 0 ? -1 : denseIds[hierarchy.middles[i]]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the hierarchy of {@code graph}, whose adjacency snapshot is {@code csr}.
+     *
+     * @throws IOException if the file is damaged or was written for another graph
+     */
+    public static ContractionHierarchy read(Path path, Graph graph, CsrGraph csr) throws IOException {
+        int[] denseIds = denseIds(graph);
+        int[] vertexIds = new int[graph.vertexCount()];
+        for (int v = 0; v < denseIds.length; v++) {
+            if (denseIds[v] >= 0) {
+                vertexIds[denseIds[v]] = v;
+            }
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a contraction hierarchy file: " + path);
+            }
+            if (in.readInt() != graph.vertexCount() || in.readInt() != graph.edgeCount()
+                    || in.readLong() != fingerprint(graph, denseIds)) {
+                throw new IOException("Contraction hierarchy belongs to another graph: " + path);
+            }
+            int n = csr.vertexCount();
+            int[] offsets = new int[n + 1];
+            IntList targets = new IntList();
+            IntList middles = new IntList();
+            long[] weights = new long[16];
+            for (int v = 0; v < n; v++) {
+                int count = graph.containsVertex(v) ? in.readInt() : 0;
+                if (count < 0 || count > vertexIds.length) {
+                    throw new IOException("Damaged contraction hierarchy file: " + path);
+                }
+                offsets[v + 1] = offsets[v] + count;
+                if (offsets[v + 1] > weights.length) {
+                    weights = Arrays.copyOf(weights, Math.max(offsets[v + 1], 2 * weights.length));
+                }
+                for (int slot = offsets[v]; slot < offsets[v + 1]; slot++) {
+                    int target = in.readInt();
+                    long weight = in.readLong();
+                    int middle = in.readInt();
+                    if (target < 0 || target >= vertexIds.length || middle >= vertexIds.length || weight < 0) {
+                        throw new IOException("Damaged contraction hierarchy file: " + path);
+                    }
+                    targets.add(vertexIds[target]);
+                    weights[slot] = weight;
+                    middles.add(middle < 0 ? -1 : vertexIds[middle]);
+                }
+            }
+            // Plain arcs are matched to the edges of this graph by endpoints and weight.
+            int[] edgeIds = new int[offsets[n]];
+            for (int v = 0; v < n; v++) {
+                for (int slot = offsets[v]; slot < offsets[v + 1]; slot++) {
+                    edgeIds[slot] = middles.get(slot) < 0 ? findEdge(csr, v, targets.get(slot), weights[slot]) : -1;
+                    if (middles.get(slot) < 0 && edgeIds[slot] < 0) {
+                        throw new IOException("Contraction hierarchy belongs to another graph: " + path);
+                    }
+                }
+            }
+            return new ContractionHierarchy(offsets, targets.toArray(), Arrays.copyOf(weights, offsets[n]),
+                    middles.toArray(), edgeIds);
+        } catch (EOFException ex) {
+            throw new IOException("Truncated contraction hierarchy file: " + path, ex);
+        }
+    }
+
+    /** Lightest edge between {@code u} and {@code v} with the given weight, or {@code -1}. */
+    private static int findEdge(CsrGraph csr, int u, int v, long weight) {
+        int from = csr.degree(u) <= csr.degree(v) ? u : v;
+        int to = from == u ? v : u;
+        for (int i = csr.offsets[from]; i < csr.offsets[from + 1]; i++) {
+            if (csr.targets[i] == to && csr.weights[i] == weight) {
+                return csr.edgeIds[i];
+            }
+        }
+        return -1;
+    }
+
+    /** Order-independent hash of every edge as dense endpoints and weight. */
+    private static long fingerprint(Graph graph, int[] denseIds) {
+        long sum = 0;
+        for (int e = 0; e < graph.edgeLimit(); e++) {
+            if (graph.containsEdge(e)) {
+                int a = denseIds[graph.source(e)];
+                int b = denseIds[graph.target(e)];
+                long x = ((long) Math.min(a, b) << 32 | Math.max(a, b)) * 0x9E3779B97F4A7C15L + graph.weight(e);
+                x ^= x >>> 31;
+                x *= 0xBF58476D1CE4E5B9L;
+                x ^= x >>> 29;
+                sum += x;
+            }
+        }
+        return sum;
+    }
+
+    private static int[] denseIds(Graph graph) {
+        int[] denseIds = new int[graph.vertexLimit()];
+        for (int v = 0, next = 0; v < graph.vertexLimit(); v++) {
+            denseIds[v] = graph.containsVertex(v) ? next++ : -1;
+        }
+        return denseIds;
+    }
+}
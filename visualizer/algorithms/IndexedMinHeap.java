@@ -0,0 +1,131 @@
+package visualizer.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over the int ids {@code 0..capacity-1} with long priorities. Every id can be in
+ * the heap at most once, which is what makes {@link #decreaseKey} possible. Every insert, key
+ * decrease and removal is counted in the {@link OperationCounter} of the thread that created or last
+ * cleared the heap.
+ */
+public final class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] positions;
+    private final long[] keys;
+    private int size;
+    private OperationCounter counter = OperationCounter.current();
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return positions[id] >= 0;
+    }
+
+    public long key(int id) {
+        return keys[id];
+    }
+
+    public int peekMin() {
+        return heap[0];
+    }
+
+    public void insert(int id, long key) {
+        counter.heapOperations++;
+        keys[id] = key;
+        heap[size] = id;
+        positions[id] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int id, long key) {
+        counter.heapOperations++;
+        keys[id] = key;
+        siftUp(positions[id]);
+    }
+
+    /** Inserts {@code id} or lowers its key, and reports whether anything changed. */
+    public boolean offer(int id, long key) {
+        if (positions[id] < 0) {
+            insert(id, key);
+            return true;
+        }
+        if (key < keys[id]) {
+            decreaseKey(id, key);
+            return true;
+        }
+        return false;
+    }
+
+    public int pollMin() {
+        counter.heapOperations++;
+        int min = heap[0];
+        positions[min] = -1;
+        if (--size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    public void clear() {
+        counter = OperationCounter.current();
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int index) {
+        int id = heap[index];
+        long key = keys[id];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) {
+                break;
+            }
+            heap[index] = parentId;
+            positions[parentId] = index;
+            index = parent;
+        }
+        heap[index] = id;
+        positions[id] = index;
+    }
+
+    private void siftDown(int index) {
+        int id = heap[index];
+        long key = keys[id];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            int childId = heap[child];
+            if (key <= keys[childId]) {
+                break;
+            }
+            heap[index] = childId;
+            positions[childId] = index;
+            index = child;
+        }
+        heap[index] = id;
+        positions[id] = index;
+    }
+}
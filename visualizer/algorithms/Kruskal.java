@@ -0,0 +1,68 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+
+import java.util.Arrays;
+
+/**
+ * Kruskal's algorithm: edges are sorted once by weight and joined through a {@link DisjointSet}.
+ * Produces a minimum spanning forest of the whole graph in O(E log E).
+ */
+public final class Kruskal {
+
+    private Kruskal() {
+    }
+
+    public static SpanningTree run(CsrGraph graph) {
+        return run(graph, StepListener.NONE);
+    }
+
+    public static SpanningTree run(CsrGraph graph, StepListener steps) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] weights = graph.weights;
+
+        int[] slotSources = new int[targets.length];
+        long[] sortedSlots = new long[targets.length / 2];
+        int candidates = 0;
+        for (int u = 0; u < n; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                slotSources[i] = u;
+                if (u < targets[i]) {
+                    sortedSlots[candidates++] = (long) weights[i] << 32 | i;
+                }
+            }
+        }
+        Arrays.sort(sortedSlots, 0, candidates);
+
+        DisjointSet components = new DisjointSet(n);
+        int[] edges = new int[Math.max(0, n - 1)];
+        int[] parents = new int[edges.length];
+        int[] children = new int[edges.length];
+        int edgeCount = 0;
+        long totalWeight = 0;
+        int k = 0;
+        for (; k < candidates && edgeCount < edges.length; k++) {
+            if ((k & 0x3FF) == 0) {
+                Cancellation.checkInterrupted();
+            }
+            int slot = (int) sortedSlots[k];
+            int u = slotSources[slot];
+            int v = targets[slot];
+            if (components.union(u, v)) {
+                edges[edgeCount] = graph.edgeIds[slot];
+                parents[edgeCount] = u;
+                children[edgeCount] = v;
+                edgeCount++;
+                totalWeight += weights[slot];
+                steps.onStep(StepKind.ACCEPT_EDGE, graph.edgeIds[slot]);
+                steps.onStep(StepKind.VISIT_VERTEX, u);
+                steps.onStep(StepKind.VISIT_VERTEX, v);
+            }
+        }
+        // A vertex counts as settled when an accepted edge joins it to the forest.
+        OperationCounter.count(edgeCount, k);
+        return new SpanningTree(edges, parents, children, edgeCount, totalWeight);
+    }
+}
@@ -0,0 +1,51 @@
+package visualizer.algorithms;
+
+/**
+ * Per-thread tally of the work the engines do: vertices settled, i.e. taken off the queue, heap or
+ * stack to have their edges scanned, edges relaxed, i.e. scanned out of such a vertex, and priority
+ * queue operations. A heap binds to the counter of the thread that creates or clears it and bumps a
+ * plain field from then on, and the engines add their own tallies when a run ends, so counting
+ * costs no synchronisation. Engines that fan out to fork/join workers sum the workers' tallies and
+ * add them to the counter of the calling thread once the workers have joined. A caller resets the
+ * counter of its thread before a run and reads it after.
+ */
+public final class OperationCounter {
+    private static final ThreadLocal<OperationCounter> CURRENT = ThreadLocal.withInitial(OperationCounter::new);
+
+    long heapOperations;
+    private long verticesSettled;
+    private long edgesRelaxed;
+
+    private OperationCounter() {
+    }
+
+    public static OperationCounter current() {
+        return CURRENT.get();
+    }
+
+    /** Inserts, key decreases and removals since the last {@link #reset()}. */
+    public long heapOperations() {
+        return heapOperations;
+    }
+
+    public long verticesSettled() {
+        return verticesSettled;
+    }
+
+    public long edgesRelaxed() {
+        return edgesRelaxed;
+    }
+
+    public void reset() {
+        heapOperations = 0;
+        verticesSettled = 0;
+        edgesRelaxed = 0;
+    }
+
+    /** Adds the tallies of a run to the counter of the current thread. */
+    static void count(long verticesSettled, long edgesRelaxed) {
+        OperationCounter counter = current();
+        counter.verticesSettled += verticesSettled;
+        counter.edgesRelaxed += edgesRelaxed;
+    }
+}
@@ -0,0 +1,225 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+import visualizer.graph.IntList;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-synchronous breadth-first search that expands every frontier in parallel on the common
+ * fork/join pool, following Beamer's direction-optimizing scheme. While the frontier is small each
+ * frontier vertex claims its unvisited neighbours with a compare-and-set on a shared visited bitset
+ * (top-down). Once the edges leaving the frontier outnumber those of the unvisited vertices by
+ * {@link #ALPHA}, every unvisited vertex instead looks for any parent in the frontier and stops at
+ * the first one (bottom-up), until the frontier shrinks below {@code n / }{@link #BETA}.
+ *
+ * <p>The visiting order holds the levels one after another, but the order within a level and the
+ * choice among several possible parents depend on scheduling. Steps are emitted from the calling
+ * thread one whole level at a time.
+ */
+public final class ParallelBreadthFirstSearch {
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    private static final int TOP_DOWN_GRAIN = 256;
+    private static final int BOTTOM_UP_GRAIN_WORDS = 64;
+
+    private ParallelBreadthFirstSearch() {
+    }
+
+    public static Traversal run(CsrGraph graph, int root) {
+        return run(graph, root, StepListener.NONE);
+    }
+
+    public static Traversal run(CsrGraph graph, int root, StepListener steps) {
+        return new Search(graph).run(root, steps);
+    }
+
+    private static final class Search {
+        private final CsrGraph graph;
+        private final int n;
+        private final AtomicLongArray visited;
+        private final long[] frontierBits;
+        private final int[] order;
+        private final int[] treeEdges;
+        private final AtomicInteger tail = new AtomicInteger();
+        private final AtomicLong nextFrontierEdges = new AtomicLong();
+        private final AtomicLong edgesScanned = new AtomicLong();
+        private int levelStart;
+        private int levelEnd;
+
+        Search(CsrGraph graph) {
+            this.graph = graph;
+            this.n = graph.vertexCount();
+            this.visited = new AtomicLongArray((n + 63) >>> 6);
+            this.frontierBits = new long[(n + 63) >>> 6];
+            this.order = new int[n];
+            this.treeEdges = new int[n];
+        }
+
+        Traversal run(int root, StepListener steps) {
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            visited.set(root >>> 6, 1L << root);
+            order[0] = root;
+            treeEdges[0] = -1;
+            tail.set(1);
+            steps.onStep(StepKind.ROOT, root);
+
+            long frontierEdges = graph.degree(root);
+            long unvisitedEdges = graph.offsets[n] - frontierEdges;
+            boolean bottomUp = false;
+            levelStart = 0;
+            levelEnd = 1;
+            while (levelStart < levelEnd) {
+                Cancellation.checkInterrupted();
+                int frontierSize = levelEnd - levelStart;
+                if (!bottomUp && frontierEdges > unvisitedEdges / ALPHA) {
+                    bottomUp = true;
+                } else if (bottomUp && frontierSize < n / BETA) {
+                    bottomUp = false;
+                }
+
+                nextFrontierEdges.set(0);
+                if (bottomUp) {
+                    for (int i = levelStart; i < levelEnd; i++) {
+                        frontierBits[order[i] >>> 6] |= 1L << order[i];
+                    }
+                    pool.invoke(new BottomUpTask(0, frontierBits.length));
+                    for (int i = levelStart; i < levelEnd; i++) {
+                        frontierBits[order[i] >>> 6] = 0;
+                    }
+                } else {
+                    pool.invoke(new TopDownTask(levelStart, levelEnd));
+                }
+
+                levelStart = levelEnd;
+                levelEnd = tail.get();
+                for (int i = levelStart; i < levelEnd; i++) {
+                    steps.onStep(StepKind.ACCEPT_EDGE, treeEdges[i]);
+                    steps.onStep(StepKind.VISIT_VERTEX, order[i]);
+                }
+                frontierEdges = nextFrontierEdges.get();
+                unvisitedEdges -= frontierEdges;
+            }
+            OperationCounter.count(levelEnd, edgesScanned.get());
+            return new Traversal(order, treeEdges, levelEnd);
+        }
+
+        /** Appends the vertices a task discovered to the next level in one reserved block. */
+        private void publish(IntList vertices, IntList edges, long degreeSum, long scanned) {
+            int start = tail.getAndAdd(vertices.size());
+            for (int i = 0; i < vertices.size(); i++) {
+                order[start + i] = vertices.get(i);
+                treeEdges[start + i] = edges.get(i);
+            }
+            nextFrontierEdges.addAndGet(degreeSum);
+            edgesScanned.addAndGet(scanned);
+        }
+
+        private final class TopDownTask extends RecursiveAction {
+            private final int from;
+            private final int to;
+
+            TopDownTask(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > TOP_DOWN_GRAIN) {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new TopDownTask(from, middle), new TopDownTask(middle, to));
+                    return;
+                }
+                int[] offsets = graph.offsets;
+                int[] targets = graph.targets;
+                int[] edgeIds = graph.edgeIds;
+                IntList vertices = new IntList();
+                IntList edges = new IntList();
+                long degreeSum = 0;
+                long scanned = 0;
+                for (int f = from; f < to; f++) {
+                    int u = order[f];
+                    scanned += offsets[u + 1] - offsets[u];
+                    for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                        int v = targets[i];
+                        if (claim(v)) {
+                            vertices.add(v);
+                            edges.add(edgeIds[i]);
+                            degreeSum += offsets[v + 1] - offsets[v];
+                        }
+                    }
+                }
+                publish(vertices, edges, degreeSum, scanned);
+            }
+
+            private boolean claim(int v) {
+                int word = v >>> 6;
+                long bit = 1L << v;
+                long current = visited.get(word);
+                while ((current & bit) == 0) {
+                    if (visited.compareAndSet(word, current, current | bit)) {
+                        return true;
+                    }
+                    current = visited.get(word);
+                }
+                return false;
+            }
+        }
+
+        /** Scans whole 64-vertex words, so every visited word is only written by one task. */
+        private final class BottomUpTask extends RecursiveAction {
+            private final int fromWord;
+            private final int toWord;
+
+            BottomUpTask(int fromWord, int toWord) {
+                this.fromWord = fromWord;
+                this.toWord = toWord;
+            }
+
+            @Override
+            protected void compute() {
+                if (toWord - fromWord > BOTTOM_UP_GRAIN_WORDS) {
+                    int middle = (fromWord + toWord) >>> 1;
+                    invokeAll(new BottomUpTask(fromWord, middle), new BottomUpTask(middle, toWord));
+                    return;
+                }
+                int[] offsets = graph.offsets;
+                int[] targets = graph.targets;
+                int[] edgeIds = graph.edgeIds;
+                IntList vertices = new IntList();
+                IntList edges = new IntList();
+                long degreeSum = 0;
+                long scanned = 0;
+                for (int word = fromWord; word < toWord; word++) {
+                    long seen = visited.get(word);
+                    long found = 0;
+                    for (int v = word << 6, last = Math.min(n, v + 64); v < last; v++) {
+                        if ((seen & 1L << v) != 0) {
+                            continue;
+                        }
+                        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                            int u = targets[i];
+                            scanned++;
+                            if ((frontierBits[u >>> 6] & 1L << u) != 0) {
+                                found |= 1L << v;
+                                vertices.add(v);
+                                edges.add(edgeIds[i]);
+                                degreeSum += offsets[v + 1] - offsets[v];
+                                break;
+                            }
+                        }
+                    }
+                    if (found != 0) {
+                        visited.set(word, seen | found);
+                    }
+                }
+                publish(vertices, edges, degreeSum, scanned);
+            }
+        }
+    }
+}
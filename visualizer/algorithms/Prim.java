@@ -0,0 +1,69 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+
+/**
+ * Prim's algorithm growing a tree from a root with an indexed heap over the frontier vertices,
+ * keyed by the lightest edge connecting them to the tree. Runs in O(E log V) and spans the
+ * component of the root.
+ */
+public final class Prim {
+
+    private Prim() {
+    }
+
+    public static SpanningTree run(CsrGraph graph, int root) {
+        return run(graph, root, StepListener.NONE);
+    }
+
+    public static SpanningTree run(CsrGraph graph, int root, StepListener steps) {
+        int n = graph.vertexCount();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] weights = graph.weights;
+        int[] edgeIds = graph.edgeIds;
+
+        boolean[] inTree = new boolean[n];
+        int[] bestEdge = new int[n];
+        int[] bestParent = new int[n];
+        int[] edges = new int[Math.max(0, n - 1)];
+        int[] parents = new int[edges.length];
+        int[] children = new int[edges.length];
+        int edgeCount = 0;
+        long totalWeight = 0;
+
+        IndexedMinHeap frontier = new IndexedMinHeap(n);
+        frontier.insert(root, 0);
+        bestEdge[root] = -1;
+        steps.onStep(StepKind.ROOT, root);
+        int settled = 0;
+        long relaxed = 0;
+        while (!frontier.isEmpty()) {
+            Cancellation.checkInterrupted();
+            long key = frontier.key(frontier.peekMin());
+            int u = frontier.pollMin();
+            inTree[u] = true;
+            settled++;
+            relaxed += offsets[u + 1] - offsets[u];
+            if (bestEdge[u] >= 0) {
+                edges[edgeCount] = bestEdge[u];
+                parents[edgeCount] = bestParent[u];
+                children[edgeCount] = u;
+                edgeCount++;
+                totalWeight += key;
+                steps.onStep(StepKind.ACCEPT_EDGE, bestEdge[u]);
+                steps.onStep(StepKind.VISIT_VERTEX, u);
+            }
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (!inTree[v] && frontier.offer(v, weights[i])) {
+                    bestEdge[v] = edgeIds[i];
+                    bestParent[v] = u;
+                    steps.onStep(StepKind.RELAX_EDGE, edgeIds[i]);
+                }
+            }
+        }
+        OperationCounter.count(settled, relaxed);
+        return new SpanningTree(edges, parents, children, edgeCount, totalWeight);
+    }
+}
@@ -0,0 +1,66 @@
+package visualizer.algorithms;
+
+/**
+ * Result of a point-to-point search: one shortest path from the source to the target, if any, and
+ * how many vertices the search settled to find it.
+ */
+public final class Route {
+    private final long distance;
+    private final int[] vertices;
+    private final int[] edges;
+    private final int settledCount;
+
+    Route(long distance, int[] vertices, int[] edges, int settledCount) {
+        this.distance = distance;
+        this.vertices = vertices;
+        this.edges = edges;
+        this.settledCount = settledCount;
+    }
+
+    /** Walks predecessor edges back from {@code target} to the vertex whose predecessor edge is {@code -1}. */
+    static Route fromPredecessors(int target, long distance, int[] predecessor, int[] predecessorEdge, int settledCount) {
+        int length = 1;
+        for (int v = target; predecessorEdge[v] >= 0; v = predecessor[v]) {
+            length++;
+        }
+        int[] vertices = new int[length];
+        int[] edges = new int[length - 1];
+        for (int v = target, i = length - 1; i >= 0; v = predecessor[v], i--) {
+            vertices[i] = v;
+            if (i > 0) {
+                edges[i - 1] = predecessorEdge[v];
+            }
+        }
+        return new Route(distance, vertices, edges, settledCount);
+    }
+
+    static Route notFound(int settledCount) {
+        return new Route(ShortestPaths.UNREACHABLE, new int[0], new int[0], settledCount);
+    }
+
+    public boolean found() {
+        return distance != ShortestPaths.UNREACHABLE;
+    }
+
+    public long distance() {
+        return distance;
+    }
+
+    /** Number of vertices on the path, including both ends; {@code 0} if there is none. */
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    public int vertex(int index) {
+        return vertices[index];
+    }
+
+    /** Edge between {@code vertex(index)} and {@code vertex(index + 1)}. */
+    public int edge(int index) {
+        return edges[index];
+    }
+
+    public int settledCount() {
+        return settledCount;
+    }
+}
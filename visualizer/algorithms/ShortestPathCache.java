@@ -0,0 +1,179 @@
+package visualizer.algorithms;
+
+import visualizer.graph.CsrGraph;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shortest path trees of recently used sources, valid for one graph version. Trees are computed
+ * with {@link Dijkstra} on a miss and kept in a bounded LRU map; asking for another version drops
+ * everything. Small graphs can be precomputed for every source at once, with Floyd-Warshall when
+ * they are dense and with repeated Dijkstra otherwise. A cached tree is replayed to the step
+ * listener as its root and accepted edges in settling order.
+ */
+public final class ShortestPathCache {
+    /** Largest vertex count {@link #precompute} accepts. */
+    public static final int PRECOMPUTE_LIMIT = 2000;
+
+    private final int capacity;
+    private final Map<Integer, ShortestPaths> trees;
+    private ShortestPaths[] precomputed;
+    private int version = -1;
+    private int hits;
+    private int misses;
+
+    public ShortestPathCache(int capacity) {
+        this.capacity = capacity;
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ShortestPaths> eldest) {
+                return size() > ShortestPathCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Shortest paths from {@code source} in the graph snapshot of {@code version}.
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    public synchronized ShortestPaths get(CsrGraph graph, int version, int source, StepListener steps) {
+        useVersion(version);
+        ShortestPaths paths = precomputed != null ? precomputed[source] : trees.get(source);
+        if (paths != null) {
+            hits++;
+            replay(paths, steps);
+            return paths;
+        }
+        misses++;
+        paths = Dijkstra.run(graph, source, -1, steps);
+        trees.put(source, paths);
+        return paths;
+    }
+
+    public static boolean canPrecompute(CsrGraph graph) {
+        return graph.vertexCount() <= PRECOMPUTE_LIMIT;
+    }
+
+    /**
+     * Computes the trees of every source of the graph snapshot of {@code version}, which later
+     * {@link #get} calls answer without searching.
+     *
+     * @throws IllegalArgumentException if the graph is too big or has a negative edge weight
+     */
+    public synchronized void precompute(CsrGraph graph, int version) {
+        if (!canPrecompute(graph)) {
+            throw new IllegalArgumentException("Cannot precompute more than " + PRECOMPUTE_LIMIT + " vertices");
+        }
+        Dijkstra.requireNonNegativeWeights(graph);
+        useVersion(version);
+        int n = graph.vertexCount();
+        ShortestPaths[] all = new ShortestPaths[n];
+        if ((long) graph.targets.length * 4 >= (long) n * n) {
+            floydWarshall(graph, all);
+        } else {
+            for (int source = 0; source < n; source++) {
+                Cancellation.checkInterrupted();
+                all[source] = Dijkstra.run(graph, source);
+            }
+        }
+        precomputed = all;
+    }
+
+    public synchronized boolean isPrecomputed(int version) {
+        return precomputed != null && this.version == version;
+    }
+
+    public synchronized int hits() {
+        return hits;
+    }
+
+    public synchronized int misses() {
+        return misses;
+    }
+
+    private void useVersion(int version) {
+        if (this.version != version) {
+            this.version = version;
+            trees.clear();
+            precomputed = null;
+        }
+    }
+
+    private static void replay(ShortestPaths paths, StepListener steps) {
+        steps.onStep(StepKind.ROOT, paths.source());
+        for (int i = 0; i < paths.settledCount(); i++) {
+            int v = paths.settled(i);
+            if (paths.predecessorEdge(v) >= 0) {
+                steps.onStep(StepKind.ACCEPT_EDGE, paths.predecessorEdge(v));
+                steps.onStep(StepKind.VISIT_VERTEX, v);
+            }
+        }
+    }
+
+    /**
+     * Floyd-Warshall over a row-major distance matrix with a matrix of last hops, then one tree per
+     * source read off its row.
+     */
+    private static void floydWarshall(CsrGraph graph, ShortestPaths[] all) {
+        int n = graph.vertexCount();
+        long unreachable = ShortestPaths.UNREACHABLE;
+        long[] distance = new long[n * n];
+        int[] lastHop = new int[n * n];
+        int[] directEdge = new int[n * n];
+        Arrays.fill(distance, unreachable);
+        Arrays.fill(lastHop, -1);
+        Arrays.fill(directEdge, -1);
+        for (int u = 0; u < n; u++) {
+            distance[u * n + u] = 0;
+            // Rows are sorted by weight, so the first edge to each neighbour is the lightest one.
+            for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                int v = graph.targets[i];
+                if (directEdge[u * n + v] < 0 && u != v) {
+                    directEdge[u * n + v] = graph.edgeIds[i];
+                    distance[u * n + v] = graph.weights[i];
+                    lastHop[u * n + v] = u;
+                }
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            Cancellation.checkInterrupted();
+            for (int i = 0; i < n; i++) {
+                long ik = distance[i * n + k];
+                if (ik == unreachable || i == k) {
+                    continue;
+                }
+                for (int j = 0, ij = i * n, kj = k * n; j < n; j++, ij++, kj++) {
+                    long through = distance[kj];
+                    if (through != unreachable && ik + through < distance[ij]) {
+                        distance[ij] = ik + through;
+                        lastHop[ij] = lastHop[kj];
+                    }
+                }
+            }
+        }
+
+        IndexedMinHeap order = new IndexedMinHeap(n);
+        for (int source = 0; source < n; source++) {
+            long[] rowDistance = Arrays.copyOfRange(distance, source * n, source * n + n);
+            int[] predecessor = new int[n];
+            int[] predecessorEdge = new int[n];
+            for (int v = 0; v < n; v++) {
+                int hop = v == source ? -1 : lastHop[source * n + v];
+                predecessor[v] = hop;
+                predecessorEdge[v] = hop < 0 ? -1 : directEdge[hop * n + v];
+                if (rowDistance[v] != unreachable) {
+                    order.insert(v, rowDistance[v]);
+                }
+            }
+            int[] settled = new int[order.size()];
+            int settledCount = 0;
+            while (!order.isEmpty()) {
+                settled[settledCount++] = order.pollMin();
+            }
+            all[source] = new ShortestPaths(source, rowDistance, predecessor, predecessorEdge, settled, settledCount);
+        }
+    }
+}
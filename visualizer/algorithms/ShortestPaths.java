@@ -0,0 +1,77 @@
+package visualizer.algorithms;
+
+/**
+ * Result of a single-source shortest path run: distances, the predecessor tree and the order in
+ * which vertices were settled. Unreached vertices have distance {@link #UNREACHABLE} and
+ * predecessor {@code -1}.
+ */
+public final class ShortestPaths {
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final int source;
+    private final long[] distance;
+    private final int[] predecessor;
+    private final int[] predecessorEdge;
+    private final int[] settled;
+    private final int settledCount;
+
+    ShortestPaths(int source, long[] distance, int[] predecessor, int[] predecessorEdge, int[] settled, int settledCount) {
+        this.source = source;
+        this.distance = distance;
+        this.predecessor = predecessor;
+        this.predecessorEdge = predecessorEdge;
+        this.settled = settled;
+        this.settledCount = settledCount;
+    }
+
+    public int source() {
+        return source;
+    }
+
+    /** Length of the per-vertex arrays, i.e. the vertex limit of the graph the run was made on. */
+    int vertexLimit() {
+        return distance.length;
+    }
+
+    public boolean reached(int v) {
+        return distance[v] != UNREACHABLE;
+    }
+
+    public long distance(int v) {
+        return distance[v];
+    }
+
+    public int predecessor(int v) {
+        return predecessor[v];
+    }
+
+    /** Id of the tree edge that leads into {@code v}, or {@code -1} for the source and unreached vertices. */
+    public int predecessorEdge(int v) {
+        return predecessorEdge[v];
+    }
+
+    public int settledCount() {
+        return settledCount;
+    }
+
+    /** The {@code index}-th vertex settled by the run; settled vertices come in non-decreasing distance. */
+    public int settled(int index) {
+        return settled[index];
+    }
+
+    /** Vertices of the shortest path from the source to {@code target}, or an empty array if unreachable. */
+    public int[] pathTo(int target) {
+        if (!reached(target)) {
+            return new int[0];
+        }
+        int length = 1;
+        for (int v = target; v != source; v = predecessor[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = target, i = length - 1; i >= 0; v = predecessor[v], i--) {
+            path[i] = v;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,42 @@
+package visualizer.algorithms;
+
+/**
+ * Edges of a minimum spanning tree (or forest) in the order the algorithm accepted them.
+ */
+public final class SpanningTree {
+    private final int[] edges;
+    private final int[] parents;
+    private final int[] children;
+    private final int edgeCount;
+    private final long totalWeight;
+
+    SpanningTree(int[] edges, int[] parents, int[] children, int edgeCount, long totalWeight) {
+        this.edges = edges;
+        this.parents = parents;
+        this.children = children;
+        this.edgeCount = edgeCount;
+        this.totalWeight = totalWeight;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public int edge(int index) {
+        return edges[index];
+    }
+
+    /** Endpoint of the {@code index}-th edge that was already in the tree when the edge was accepted. */
+    public int parent(int index) {
+        return parents[index];
+    }
+
+    /** Endpoint of the {@code index}-th edge that the edge brought into the tree. */
+    public int child(int index) {
+        return children[index];
+    }
+
+    public long totalWeight() {
+        return totalWeight;
+    }
+}
@@ -0,0 +1,8 @@
+package visualizer.algorithms;
+
+public enum StepKind {
+    ROOT,
+    VISIT_VERTEX,
+    RELAX_EDGE,
+    ACCEPT_EDGE
+}
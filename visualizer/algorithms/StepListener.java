@@ -0,0 +1,12 @@
+package visualizer.algorithms;
+
+/**
+ * Receives the individual steps of an algorithm run, e.g. to animate them. The id is a vertex id
+ * for {@link StepKind#ROOT} and {@link StepKind#VISIT_VERTEX} and an edge id otherwise.
+ */
+@FunctionalInterface
+public interface StepListener {
+    StepListener NONE = (kind, id) -> { };
+
+    void onStep(StepKind kind, int id);
+}
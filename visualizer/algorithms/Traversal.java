@@ -0,0 +1,29 @@
+package visualizer.algorithms;
+
+/**
+ * Vertices reached by a graph traversal in visiting order, each with the tree edge it was
+ * discovered through ({@code -1} for the root).
+ */
+public final class Traversal {
+    private final int[] order;
+    private final int[] treeEdges;
+    private final int count;
+
+    Traversal(int[] order, int[] treeEdges, int count) {
+        this.order = order;
+        this.treeEdges = treeEdges;
+        this.count = count;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int vertex(int index) {
+        return order[index];
+    }
+
+    public int treeEdge(int index) {
+        return treeEdges[index];
+    }
+}
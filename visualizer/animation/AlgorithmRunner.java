@@ -0,0 +1,138 @@
+package visualizer.animation;
+
+import visualizer.algorithms.OperationCounter;
+import visualizer.algorithms.StepListener;
+import visualizer.metrics.Metrics;
+
+import javax.swing.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs at most one algorithm at a time for a graph view on a shared, application-wide thread pool.
+ * Every run gets its own step queue or log, and starting another run or calling {@link #cancel()}
+ * interrupts the previous one and discards anything it would still have shown. Every run that
+ * completes is recorded in the metrics with its computing time, not counting the animation: time
+ * the algorithm spends blocked on a full step queue, waiting for frames to be shown, is subtracted.
+ * All methods must be called on the event dispatch thread.
+ */
+public class AlgorithmRunner {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "algorithm-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final AnimationScheduler scheduler;
+    private final StepListener target;
+    private final Runnable afterSteps;
+    private final int queueCapacity;
+    private final Metrics metrics;
+    private Run active;
+
+    public AlgorithmRunner(AnimationScheduler scheduler, StepListener target, Runnable afterSteps, int queueCapacity,
+                           Metrics metrics) {
+        this.scheduler = scheduler;
+        this.target = target;
+        this.afterSteps = afterSteps;
+        this.queueCapacity = queueCapacity;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Cancels the current run and starts {@code algorithm}. Its steps are replayed by the scheduler
+     * or, in {@link AnimationMode#INSTANT}, applied all at once; the text it returns goes to
+     * {@code onResult} after the last step has been applied.
+     */
+    public void start(AnimationMode mode, String name, Function<StepListener, String> algorithm,
+                      Consumer<String> onResult) {
+        cancel();
+        Run run = new Run();
+        active = run;
+        if (mode == AnimationMode.INSTANT) {
+            StepLog log = new StepLog();
+            run.future = EXECUTOR.submit(() -> {
+                String[] result = new String[1];
+                try {
+                    result[0] = compute(name, algorithm, log, () -> 0);
+                } finally {
+                    SwingUtilities.invokeLater(() -> {
+                        if (active == run) {
+                            active = null;
+                            log.replay(target);
+                            afterSteps.run();
+                            finish(result[0], onResult);
+                        }
+                    });
+                }
+            });
+        } else {
+            StepQueue queue = new StepQueue(queueCapacity);
+            scheduler.start(queue);
+            run.future = EXECUTOR.submit(() -> {
+                String[] result = new String[1];
+                try {
+                    result[0] = compute(name, algorithm, queue, queue::blockedNanos);
+                } finally {
+                    queue.close(() -> {
+                        if (active == run) {
+                            active = null;
+                            finish(result[0], onResult);
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    public boolean isRunning() {
+        return active != null;
+    }
+
+    public void cancel() {
+        scheduler.stop();
+        if (active != null) {
+            active.future.cancel(true);
+            active = null;
+        }
+    }
+
+    private String compute(String name, Function<StepListener, String> algorithm, StepListener steps,
+                           LongSupplier blockedNanos) {
+        OperationCounter operations = OperationCounter.current();
+        operations.reset();
+        long start = System.nanoTime();
+        try {
+            String result = algorithm.apply(steps);
+            metrics.recordRun(name, System.nanoTime() - start - blockedNanos.getAsLong(), operations.verticesSettled(),
+                    operations.edgesRelaxed(), operations.heapOperations());
+            return result;
+        } catch (CancellationException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            return "Algorithm failed: " + ex.getMessage();
+        } catch (Error ex) {
+            // Mostly OutOfMemoryError on large graphs; the thread pool would otherwise drop it unseen.
+            return "Algorithm failed: " + ex;
+        }
+    }
+
+    /** Hands the result to {@code onResult}; there is none if the run was cancelled from inside. */
+    private static void finish(String result, Consumer<String> onResult) {
+        if (result != null) {
+            onResult.accept(result);
+        }
+    }
+
+    private static class Run {
+        private Future<?> future;
+    }
+}
@@ -0,0 +1,13 @@
+package visualizer.animation;
+
+public enum AnimationMode {
+    INSTANT("Instant"),
+    FIXED_RATE("Fixed Rate"),
+    COALESCE("Coalesce Steps");
+
+    public final String label;
+
+    AnimationMode(String label) {
+        this.label = label;
+    }
+}
@@ -0,0 +1,59 @@
+package visualizer.animation;
+
+import visualizer.algorithms.StepListener;
+
+import javax.swing.*;
+
+/**
+ * Replays the steps of a {@link StepQueue} on the event dispatch thread with a Swing {@link Timer}:
+ * every frame hands up to {@code stepsPerFrame} steps to the target and then runs {@code afterFrame}.
+ */
+public class AnimationScheduler {
+    private final Timer timer;
+    private final StepListener target;
+    private final Runnable afterFrame;
+    private StepQueue queue;
+    private int stepsPerFrame = 1;
+
+    public AnimationScheduler(StepListener target, Runnable afterFrame) {
+        this.target = target;
+        this.afterFrame = afterFrame;
+        this.timer = new Timer(200, e -> nextFrame());
+    }
+
+    public void setRate(int framesPerSecond, int stepsPerFrame) {
+        int delay = Math.max(1, 1000 / framesPerSecond);
+        timer.setDelay(delay);
+        timer.setInitialDelay(delay);
+        this.stepsPerFrame = stepsPerFrame;
+    }
+
+    public void start(StepQueue queue) {
+        stop();
+        this.queue = queue;
+        timer.start();
+    }
+
+    /** Stops the current animation and cancels the algorithm still feeding its queue. */
+    public void stop() {
+        timer.stop();
+        if (queue != null) {
+            queue.cancel();
+            queue = null;
+        }
+    }
+
+    private void nextFrame() {
+        if (queue == null) {
+            return;
+        }
+        queue.drain(stepsPerFrame, target);
+        afterFrame.run();
+        if (queue.isFinished()) {
+            timer.stop();
+            Runnable completion = queue.completion();
+            queue = null;
+            completion.run();
+        }
+    }
+}
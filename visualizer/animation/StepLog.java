@@ -0,0 +1,34 @@
+package visualizer.animation;
+
+import visualizer.algorithms.StepKind;
+import visualizer.algorithms.StepListener;
+
+import java.util.Arrays;
+
+/**
+ * Unbounded log of algorithm steps packed into longs, replayed in one go once the run is over.
+ */
+public final class StepLog implements StepListener {
+    private static final StepKind[] KINDS = StepKind.values();
+
+    private long[] steps = new long[64];
+    private int size;
+
+    @Override
+    public void onStep(StepKind kind, int id) {
+        if (size == steps.length) {
+            steps = Arrays.copyOf(steps, size * 2);
+        }
+        steps[size++] = (long) kind.ordinal() << 32 | id & 0xFFFFFFFFL;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void replay(StepListener target) {
+        for (int i = 0; i < size; i++) {
+            target.onStep(KINDS[(int) (steps[i] >>> 32)], (int) steps[i]);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package visualizer.animation;
+
+import visualizer.algorithms.StepKind;
+import visualizer.algorithms.StepListener;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Bounded ring buffer of algorithm steps, each packed into a long. The algorithm thread blocks
+ * in {@link #onStep} while the buffer is full, and the time it spends blocked is added up; the
+ * consumer drains it without blocking.
+ * {@link #cancel()} makes the producer fail with a {@link CancellationException}.
+ */
+public final class StepQueue implements StepListener {
+    private static final StepKind[] KINDS = StepKind.values();
+
+    private final long[] buffer;
+    private int head;
+    private int size;
+    private boolean closed;
+    private boolean cancelled;
+    private Runnable completion;
+    private long blockedNanos;
+
+    public StepQueue(int capacity) {
+        buffer = new long[capacity];
+    }
+
+    @Override
+    public synchronized void onStep(StepKind kind, int id) {
+        if (size == buffer.length && !cancelled) {
+            long start = System.nanoTime();
+            try {
+                while (size == buffer.length && !cancelled) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException();
+            } finally {
+                blockedNanos += System.nanoTime() - start;
+            }
+        }
+        if (cancelled) {
+            throw new CancellationException();
+        }
+        buffer[(head + size) % buffer.length] = (long) kind.ordinal() << 32 | id & 0xFFFFFFFFL;
+        size++;
+    }
+
+    /** Hands at most {@code maxSteps} queued steps to {@code target} and returns how many were handed over. */
+    public synchronized int drain(int maxSteps, StepListener target) {
+        int count = Math.min(maxSteps, size);
+        for (int i = 0; i < count; i++) {
+            long step = buffer[head];
+            head = (head + 1) % buffer.length;
+            target.onStep(KINDS[(int) (step >>> 32)], (int) step);
+        }
+        size -= count;
+        if (count > 0) {
+            notifyAll();
+        }
+        return count;
+    }
+
+    /** Time the producer has spent in {@link #onStep} waiting for the consumer to make room. */
+    public synchronized long blockedNanos() {
+        return blockedNanos;
+    }
+
+    /** Marks the end of the run; {@code completion} is handed to the consumer once the queue is drained. */
+    public synchronized void close(Runnable completion) {
+        this.completion = completion;
+        closed = true;
+    }
+
+    public synchronized boolean isFinished() {
+        return closed && size == 0;
+    }
+
+    public synchronized Runnable completion() {
+        return completion;
+    }
+
+    public synchronized void cancel() {
+        cancelled = true;
+        notifyAll();
+    }
+}
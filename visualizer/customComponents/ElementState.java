@@ -0,0 +1,16 @@
+package visualizer.customComponents;
+
+import java.awt.*;
+
+public enum ElementState {
+    DEFAULT(Color.WHITE),
+    SELECTED(Color.YELLOW),
+    RELAXED(Color.ORANGE),
+    ROOT(Color.RED);
+
+    public final Color color;
+
+    ElementState(Color color) {
+        this.color = color;
+    }
+}
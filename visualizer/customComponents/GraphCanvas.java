@@ -0,0 +1,546 @@
+package visualizer.customComponents;
+
+import visualizer.graph.Graph;
+import visualizer.graph.IntList;
+import visualizer.graph.SpatialIndex;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Paints every vertex, edge and weight label of a {@link Graph} in a single pass. Per-element
+ * colours are kept in byte arrays indexed by the model ids. Clicks are resolved and painting is
+ * culled to the clip rectangle through a {@link SpatialIndex}.
+ *
+ * <p>The graph lives in an unbounded world coordinate space viewed through a zoomable, pannable
+ * viewport: the mouse wheel zooms around the cursor and dragging pans. Level of detail depends on
+ * the zoom: labels are dropped below {@link #LABEL_MIN_SCALE}, and once vertices shrink to a few
+ * pixels they are rasterised into a grid of screen cells, one square per occupied cell, with edges
+ * drawn as thin lines only when they span more than a cell.
+ *
+ * <p>The static part of a frame, i.e. the background, every edge in its default colour and the
+ * weight labels, is rendered once into an offscreen edge layer and copied to the screen on each
+ * paint. Only highlighted edges, their weights and the vertices are drawn on top every time. While
+ * the graph is being edited or the viewport moves, frames are drawn directly, and the layer is
+ * rendered again on the first paint after the view has come to rest.
+ */
+public class GraphCanvas extends JComponent {
+    public static final int VERTEX_SIZE = 50;
+    private static final int EDGE_TOLERANCE = 6;
+    private static final int EDGE_WIDTH = 4;
+    private static final Stroke EDGE_STROKE = new BasicStroke(EDGE_WIDTH);
+    private static final int CULL_MARGIN = 2 * VERTEX_SIZE;
+    private static final ElementState[] STATES = ElementState.values();
+    private static final double LABEL_MIN_SCALE = 0.5;
+    private static final double MIN_SCALE = 1e-4;
+    private static final double MAX_SCALE = 8;
+    private static final double ZOOM_STEP = 1.2;
+    private static final int POINT_VERTEX_SIZE = 4;
+    private static final Stroke THIN_STROKE = new BasicStroke(1);
+    private static final Color[] GROUP_COLORS = groupColors(12);
+
+    private final Graph graph;
+    private final SpatialIndex spatialIndex;
+    private final IntList visibleEdges = new IntList();
+    private final IntList visibleVertices = new IntList();
+    private final Font vertexFont;
+    private final Font weightFont;
+    private byte[] vertexStates = new byte[0];
+    private byte[] edgeStates = new byte[0];
+    private int[] vertexGroups;
+    private byte[] cellStates = new byte[0];
+    private int[] cellColors = new int[0];
+    private BufferedImage cellImage;
+    private BufferedImage edgeLayer;
+    private int edgeLayerModCount;
+    private double edgeLayerScale;
+    private double edgeLayerTranslateX;
+    private double edgeLayerTranslateY;
+    private int lastPaintWidth;
+    private int lastPaintHeight;
+    private int lastPaintModCount = -1;
+    private double lastPaintScale;
+    private double lastPaintTranslateX;
+    private double lastPaintTranslateY;
+    private LongConsumer paintTimeListener = nanos -> { };
+
+    private double scale = 1;
+    private double translateX;
+    private double translateY;
+
+    private boolean dirty;
+    private int dirtyMinX;
+    private int dirtyMinY;
+    private int dirtyMaxX;
+    private int dirtyMaxY;
+
+    public GraphCanvas(Graph graph) {
+        this.graph = graph;
+        this.spatialIndex = new SpatialIndex(graph);
+        this.vertexFont = new JLabel().getFont();
+        this.weightFont = vertexFont.deriveFont(Font.BOLD, 22);
+        setBackground(Color.BLACK);
+        setOpaque(true);
+
+        MouseAdapter viewportListener = new MouseAdapter() {
+            private int lastX;
+            private int lastY;
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                lastX = e.getX();
+                lastY = e.getY();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                panBy(e.getX() - lastX, e.getY() - lastY);
+                lastX = e.getX();
+                lastY = e.getY();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoomAt(e.getX(), e.getY(), Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()));
+            }
+        };
+        addMouseListener(viewportListener);
+        addMouseMotionListener(viewportListener);
+        addMouseWheelListener(viewportListener);
+    }
+
+    /** Receives the duration of every paint of the graph in nanoseconds. */
+    public void setPaintTimeListener(LongConsumer paintTimeListener) {
+        this.paintTimeListener = paintTimeListener;
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    /** World x coordinate under the screen x coordinate. */
+    public int toWorldX(int x) {
+        return (int) Math.floor((x - translateX) / scale);
+    }
+
+    /** World y coordinate under the screen y coordinate. */
+    public int toWorldY(int y) {
+        return (int) Math.floor((y - translateY) / scale);
+    }
+
+    public void panBy(int dx, int dy) {
+        translateX += dx;
+        translateY += dy;
+        repaint();
+    }
+
+    /** Multiplies the zoom by {@code factor}, keeping the world point under the screen point fixed. */
+    public void zoomAt(int x, int y, double factor) {
+        double newScale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        translateX = x - (x - translateX) * newScale / scale;
+        translateY = y - (y - translateY) * newScale / scale;
+        scale = newScale;
+        repaint();
+    }
+
+    /** Zooms and pans so that the whole graph fits the canvas, never zooming in past 1:1. */
+    public void zoomToFit() {
+        if (graph.vertexCount() == 0) {
+            scale = 1;
+            translateX = 0;
+            translateY = 0;
+            repaint();
+            return;
+        }
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (int v = 0; v < graph.vertexLimit(); v++) {
+            if (graph.containsVertex(v)) {
+                minX = Math.min(minX, graph.x(v));
+                minY = Math.min(minY, graph.y(v));
+                maxX = Math.max(maxX, graph.x(v));
+                maxY = Math.max(maxY, graph.y(v));
+            }
+        }
+        double width = (double) maxX - minX + VERTEX_SIZE;
+        double height = (double) maxY - minY + VERTEX_SIZE;
+        scale = Math.max(MIN_SCALE, Math.min(1, Math.min(getWidth() / width, getHeight() / height)));
+        translateX = (getWidth() - ((double) maxX + minX) * scale) / 2;
+        translateY = (getHeight() - ((double) maxY + minY) * scale) / 2;
+        repaint();
+    }
+
+    public ElementState getVertexState(int v) {
+        return v < vertexStates.length ? STATES[vertexStates[v]] : ElementState.DEFAULT;
+    }
+
+    /** Changes the colour of a vertex and records its bounds for {@link #repaintChanges()}. */
+    public synchronized void setVertexState(int v, ElementState state) {
+        if (v >= vertexStates.length) {
+            vertexStates = Arrays.copyOf(vertexStates, Math.max(v + 1, vertexStates.length * 2));
+        }
+        if (vertexStates[v] != state.ordinal()) {
+            vertexStates[v] = (byte) state.ordinal();
+            int radius = VERTEX_SIZE / 2 + 1;
+            markDirty(graph.x(v) - radius, graph.y(v) - radius, graph.x(v) + radius, graph.y(v) + radius);
+        }
+    }
+
+    public ElementState getEdgeState(int e) {
+        return e < edgeStates.length ? STATES[edgeStates[e]] : ElementState.DEFAULT;
+    }
+
+    /** Changes the colour of an edge and records its bounds for {@link #repaintChanges()}. */
+    public synchronized void setEdgeState(int e, ElementState state) {
+        if (e >= edgeStates.length) {
+            edgeStates = Arrays.copyOf(edgeStates, Math.max(e + 1, edgeStates.length * 2));
+        }
+        if (edgeStates[e] != state.ordinal()) {
+            edgeStates[e] = (byte) state.ordinal();
+            int x1 = graph.x(graph.source(e));
+            int y1 = graph.y(graph.source(e));
+            int x2 = graph.x(graph.target(e));
+            int y2 = graph.y(graph.target(e));
+            int pad = EDGE_WIDTH / 2 + 1;
+            markDirty(Math.min(x1, x2) - pad, Math.min(y1, y2) - pad, Math.max(x1, x2) + pad, Math.max(y1, y2) + pad);
+        }
+    }
+
+    /**
+     * Colours every vertex left in the default state by its group, e.g. its connected component,
+     * from a fixed palette; a negative group keeps the default colour. Cleared with the states.
+     */
+    public synchronized void setVertexGroups(int[] groups) {
+        vertexGroups = groups;
+        markDirty(toWorldX(0), toWorldY(0), toWorldX(getWidth()) + 1, toWorldY(getHeight()) + 1);
+    }
+
+    public synchronized void clearStates() {
+        Arrays.fill(vertexStates, (byte) 0);
+        Arrays.fill(edgeStates, (byte) 0);
+        vertexGroups = null;
+        markDirty(toWorldX(0), toWorldY(0), toWorldX(getWidth()) + 1, toWorldY(getHeight()) + 1);
+    }
+
+    /**
+     * Repaints the union of the bounds of every element whose colour changed since the last call,
+     * instead of the whole canvas. Structural changes still need a plain {@link #repaint()}.
+     */
+    public synchronized void repaintChanges() {
+        if (dirty) {
+            // Tiny vertices are drawn at least one raster cell wide, so pad by a cell.
+            int minX = (int) Math.floor(dirtyMinX * scale + translateX) - POINT_VERTEX_SIZE;
+            int minY = (int) Math.floor(dirtyMinY * scale + translateY) - POINT_VERTEX_SIZE;
+            int maxX = (int) Math.ceil(dirtyMaxX * scale + translateX) + POINT_VERTEX_SIZE;
+            int maxY = (int) Math.ceil(dirtyMaxY * scale + translateY) + POINT_VERTEX_SIZE;
+            repaint(minX, minY, maxX - minX + 1, maxY - minY + 1);
+            dirty = false;
+        }
+    }
+
+    private void markDirty(int minX, int minY, int maxX, int maxY) {
+        if (!dirty) {
+            dirtyMinX = minX;
+            dirtyMinY = minY;
+            dirtyMaxX = maxX;
+            dirtyMaxY = maxY;
+            dirty = true;
+        } else {
+            dirtyMinX = Math.min(dirtyMinX, minX);
+            dirtyMinY = Math.min(dirtyMinY, minY);
+            dirtyMaxX = Math.max(dirtyMaxX, maxX);
+            dirtyMaxY = Math.max(dirtyMaxY, maxY);
+        }
+    }
+
+    /** Id of the vertex whose disc contains the screen point, or {@code -1}. */
+    public int vertexAt(int x, int y) {
+        int radius = (int) Math.ceil(Math.max(VERTEX_SIZE / 2.0, POINT_VERTEX_SIZE / scale));
+        return spatialIndex.nearestVertex(toWorldX(x), toWorldY(y), radius);
+    }
+
+    /** Id of the edge whose segment passes closest to the screen point within a few pixels, or {@code -1}. */
+    public int edgeAt(int x, int y) {
+        return spatialIndex.nearestEdge(toWorldX(x), toWorldY(y), (int) Math.ceil(EDGE_TOLERANCE / scale));
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long start = System.nanoTime();
+        paintGraph((Graphics2D) g);
+        paintTimeListener.accept(System.nanoTime() - start);
+    }
+
+    private void paintGraph(Graphics2D g2d) {
+        if (getWidth() <= 0 || getHeight() <= 0) {
+            return;
+        }
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        if (viewUnchangedSinceLastPaint()) {
+            validateEdgeLayer();
+            g2d.drawImage(edgeLayer, 0, 0, null);
+            queryVisible(clip);
+        } else {
+            // While the view is being dragged or edited a layer would be stale by the next frame.
+            queryVisible(clip);
+            paintStatic(g2d, clip);
+        }
+        if (VERTEX_SIZE * scale < POINT_VERTEX_SIZE) {
+            paintEdgeLines(g2d, false);
+            paintVertexCells(g2d, clip, Math.max(1, (int) Math.round(VERTEX_SIZE * scale)));
+            return;
+        }
+
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        AffineTransform screen = g2d.getTransform();
+        g2d.translate(translateX, translateY);
+        g2d.scale(scale, scale);
+        boolean labels = scale >= LABEL_MIN_SCALE;
+        paintEdges(g2d, false);
+        if (labels) {
+            paintWeights(g2d, false);
+        }
+        paintVertices(g2d, labels);
+        g2d.setTransform(screen);
+    }
+
+    /** Whether the graph, size and viewport are those of the previous paint, and remembers them. */
+    private boolean viewUnchangedSinceLastPaint() {
+        boolean unchanged = lastPaintWidth == getWidth() && lastPaintHeight == getHeight()
+                && lastPaintModCount == graph.modCount() && lastPaintScale == scale
+                && lastPaintTranslateX == translateX && lastPaintTranslateY == translateY;
+        lastPaintWidth = getWidth();
+        lastPaintHeight = getHeight();
+        lastPaintModCount = graph.modCount();
+        lastPaintScale = scale;
+        lastPaintTranslateX = translateX;
+        lastPaintTranslateY = translateY;
+        return unchanged;
+    }
+
+    /** Renders the edge layer again if the graph or the viewport changed since it was rendered. */
+    private void validateEdgeLayer() {
+        if (edgeLayer != null && edgeLayer.getWidth() == getWidth() && edgeLayer.getHeight() == getHeight()
+                && edgeLayerModCount == graph.modCount() && edgeLayerScale == scale
+                && edgeLayerTranslateX == translateX && edgeLayerTranslateY == translateY) {
+            return;
+        }
+        if (edgeLayer == null || edgeLayer.getWidth() != getWidth() || edgeLayer.getHeight() != getHeight()) {
+            GraphicsConfiguration configuration = getGraphicsConfiguration();
+            edgeLayer = configuration != null
+                    ? configuration.createCompatibleImage(getWidth(), getHeight(), Transparency.OPAQUE)
+                    : new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+        }
+        edgeLayerModCount = graph.modCount();
+        edgeLayerScale = scale;
+        edgeLayerTranslateX = translateX;
+        edgeLayerTranslateY = translateY;
+
+        Graphics2D g = edgeLayer.createGraphics();
+        Rectangle all = new Rectangle(0, 0, getWidth(), getHeight());
+        queryVisible(all);
+        paintStatic(g, all);
+        g.dispose();
+    }
+
+    /** The background, every visible edge in the default colour and the weights. */
+    private void paintStatic(Graphics2D g, Rectangle area) {
+        g.setColor(getBackground());
+        g.fillRect(area.x, area.y, area.width, area.height);
+        if (VERTEX_SIZE * scale < POINT_VERTEX_SIZE) {
+            paintEdgeLines(g, true);
+            return;
+        }
+        AffineTransform screen = g.getTransform();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.translate(translateX, translateY);
+        g.scale(scale, scale);
+        paintEdges(g, true);
+        if (scale >= LABEL_MIN_SCALE) {
+            paintWeights(g, true);
+        }
+        g.setTransform(screen);
+    }
+
+    /** Collects the edges and vertices that may show inside the screen rectangle. */
+    private void queryVisible(Rectangle area) {
+        int margin = CULL_MARGIN + (int) Math.ceil(POINT_VERTEX_SIZE / scale);
+        int minX = toWorldX(area.x) - margin;
+        int minY = toWorldY(area.y) - margin;
+        int maxX = toWorldX(area.x + area.width) + margin;
+        int maxY = toWorldY(area.y + area.height) + margin;
+        visibleEdges.clear();
+        visibleVertices.clear();
+        spatialIndex.edgesIn(minX, minY, maxX, maxY, visibleEdges);
+        spatialIndex.verticesIn(minX, minY, maxX, maxY, visibleVertices);
+    }
+
+    /** Every visible edge in the default colour for the layer, otherwise only the highlighted ones. */
+    private void paintEdges(Graphics2D g, boolean layer) {
+        g.setStroke(EDGE_STROKE);
+        for (int i = 0; i < visibleEdges.size(); i++) {
+            int e = visibleEdges.get(i);
+            ElementState state = layer ? ElementState.DEFAULT : getEdgeState(e);
+            if (!layer && state == ElementState.DEFAULT) {
+                continue;
+            }
+            int source = graph.source(e);
+            int target = graph.target(e);
+            g.setColor(state.color);
+            g.drawLine(graph.x(source), graph.y(source), graph.x(target), graph.y(target));
+        }
+    }
+
+    /** Weights of every visible edge for the layer, otherwise those a highlighted edge was drawn over. */
+    private void paintWeights(Graphics2D g, boolean layer) {
+        g.setFont(weightFont);
+        g.setColor(Color.YELLOW);
+        int ascent = g.getFontMetrics().getAscent();
+        for (int i = 0; i < visibleEdges.size(); i++) {
+            int e = visibleEdges.get(i);
+            if (!layer && getEdgeState(e) == ElementState.DEFAULT) {
+                continue;
+            }
+            int source = graph.source(e);
+            int target = graph.target(e);
+            int x = (graph.x(source) + graph.x(target)) / 2 + 3;
+            int y = (graph.y(source) + graph.y(target)) / 2 + 3;
+            g.drawString(Integer.toString(graph.weight(e)), x, y + ascent);
+        }
+    }
+
+    private void paintVertices(Graphics2D g, boolean labels) {
+        g.setFont(vertexFont);
+        FontMetrics metrics = g.getFontMetrics();
+        int radius = VERTEX_SIZE / 2;
+        for (int i = 0; i < visibleVertices.size(); i++) {
+            int v = visibleVertices.get(i);
+            int x = graph.x(v);
+            int y = graph.y(v);
+            g.setColor(vertexColor(v));
+            g.fillOval(x - radius, y - radius, VERTEX_SIZE, VERTEX_SIZE);
+
+            if (labels) {
+                String label = graph.label(v);
+                g.setColor(Color.BLACK);
+                g.drawString(label, x - metrics.stringWidth(label) / 2, y + (metrics.getAscent() - metrics.getDescent()) / 2);
+            }
+        }
+    }
+
+    private Color vertexColor(int v) {
+        ElementState state = getVertexState(v);
+        int[] groups = vertexGroups;
+        if (state == ElementState.DEFAULT && groups != null && v < groups.length && groups[v] >= 0) {
+            return GROUP_COLORS[groups[v] % GROUP_COLORS.length];
+        }
+        return state.color;
+    }
+
+    /** Light, well separated hues, stepping round the colour wheel by the golden angle. */
+    private static Color[] groupColors(int count) {
+        Color[] colors = new Color[count];
+        for (int i = 0; i < count; i++) {
+            colors[i] = Color.getHSBColor((i * 0.618034f) % 1, 0.45f, 1f);
+        }
+        return colors;
+    }
+
+    /**
+     * Edges in screen space with a one-pixel stroke, skipping those that fit inside one pixel; all
+     * of them in the default colour for the layer, otherwise only the highlighted ones.
+     */
+    private void paintEdgeLines(Graphics2D g, boolean layer) {
+        g.setStroke(THIN_STROKE);
+        Color current = null;
+        for (int i = 0; i < visibleEdges.size(); i++) {
+            int e = visibleEdges.get(i);
+            ElementState state = layer ? ElementState.DEFAULT : getEdgeState(e);
+            if (!layer && state == ElementState.DEFAULT) {
+                continue;
+            }
+            int x1 = (int) (graph.x(graph.source(e)) * scale + translateX);
+            int y1 = (int) (graph.y(graph.source(e)) * scale + translateY);
+            int x2 = (int) (graph.x(graph.target(e)) * scale + translateX);
+            int y2 = (int) (graph.y(graph.target(e)) * scale + translateY);
+            if (Math.abs(x2 - x1) <= 1 && Math.abs(y2 - y1) <= 1) {
+                continue;
+            }
+            Color color = state.color;
+            if (color != current) {
+                g.setColor(color);
+                current = color;
+            }
+            g.drawLine(x1, y1, x2, y2);
+        }
+    }
+
+    /**
+     * Rasterises the visible vertices into square screen cells of {@code cellSize} pixels, one image
+     * pixel per cell, in the colour of the highest {@link ElementState} among the cell's vertices,
+     * or of the group of one of them if they are all in the default state, and draws the image
+     * scaled up in a single call. Cells are anchored at the screen origin rather than at the clip,
+     * so a partial repaint puts every dot exactly where a full repaint does.
+     */
+    private void paintVertexCells(Graphics2D g, Rectangle clip, int cellSize) {
+        int firstColumn = Math.floorDiv(clip.x, cellSize);
+        int firstRow = Math.floorDiv(clip.y, cellSize);
+        int columns = Math.floorDiv(clip.x + clip.width - 1, cellSize) - firstColumn + 1;
+        int rows = Math.floorDiv(clip.y + clip.height - 1, cellSize) - firstRow + 1;
+        if (columns <= 0 || rows <= 0) {
+            return;
+        }
+        int cells = columns * rows;
+        if (cellStates.length < cells) {
+            cellStates = new byte[cells];
+            cellColors = new int[cells];
+        } else {
+            Arrays.fill(cellStates, 0, cells, (byte) 0);
+            Arrays.fill(cellColors, 0, cells, 0);
+        }
+        int[] groups = vertexGroups;
+        for (int i = 0; i < visibleVertices.size(); i++) {
+            int v = visibleVertices.get(i);
+            int column = (int) Math.floor((graph.x(v) * scale + translateX) / cellSize) - firstColumn;
+            int row = (int) Math.floor((graph.y(v) * scale + translateY) / cellSize) - firstRow;
+            if (column >= 0 && column < columns && row >= 0 && row < rows) {
+                int cell = row * columns + column;
+                cellStates[cell] = (byte) Math.max(cellStates[cell], getVertexState(v).ordinal() + 1);
+                if (groups != null) {
+                    cellColors[cell] = vertexColor(v).getRGB();
+                }
+            }
+        }
+
+        if (cellImage == null || cellImage.getWidth() != columns || cellImage.getHeight() != rows) {
+            cellImage = new BufferedImage(columns, rows, BufferedImage.TYPE_INT_ARGB);
+        }
+        int[] pixels = ((DataBufferInt) cellImage.getRaster().getDataBuffer()).getData();
+        for (int cell = 0; cell < cells; cell++) {
+            if (cellStates[cell] == 0) {
+                pixels[cell] = 0;
+            } else if (cellStates[cell] == 1 && cellColors[cell] != 0) {
+                pixels[cell] = cellColors[cell];
+            } else {
+                pixels[cell] = STATES[cellStates[cell] - 1].color.getRGB();
+            }
+        }
+        Shape screenClip = g.getClip();
+        g.clip(clip);
+        g.drawImage(cellImage, firstColumn * cellSize, firstRow * cellSize, columns * cellSize, rows * cellSize, null);
+        g.setClip(screenClip);
+    }
+}
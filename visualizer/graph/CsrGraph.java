@@ -0,0 +1,72 @@
+package visualizer.graph;
+
+import java.util.Arrays;
+
+/**
+ * Read-only compressed sparse row snapshot of a {@link Graph}. The neighbours of vertex {@code v}
+ * occupy slots {@code offsets[v]} to {@code offsets[v + 1] - 1}, sorted by weight; every undirected
+ * edge appears once in each endpoint's row. Vertex and edge ids are the ones of the source graph,
+ * removed vertices simply have empty rows.
+ */
+public final class CsrGraph {
+    public final int[] offsets;
+    public final int[] targets;
+    public final int[] weights;
+    public final int[] edgeIds;
+
+    private final int edgeLimit;
+
+    private CsrGraph(int[] offsets, int[] targets, int[] weights, int[] edgeIds, int edgeLimit) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeIds = edgeIds;
+        this.edgeLimit = edgeLimit;
+    }
+
+    public static CsrGraph of(Graph graph) {
+        int n = graph.vertexLimit();
+        int[] offsets = new int[n + 1];
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            int degree = graph.containsVertex(v) ? graph.degree(v) : 0;
+            offsets[v + 1] = offsets[v] + degree;
+            maxDegree = Math.max(maxDegree, degree);
+        }
+
+        int slots = offsets[n];
+        int[] targets = new int[slots];
+        int[] weights = new int[slots];
+        int[] edgeIds = new int[slots];
+        long[] row = new long[maxDegree];
+        for (int v = 0; v < n; v++) {
+            int degree = offsets[v + 1] - offsets[v];
+            for (int i = 0; i < degree; i++) {
+                int e = graph.incidentEdge(v, i);
+                row[i] = (long) graph.weight(e) << 32 | e;
+            }
+            Arrays.sort(row, 0, degree);
+            for (int i = 0, slot = offsets[v]; i < degree; i++, slot++) {
+                int e = (int) row[i];
+                targets[slot] = graph.opposite(e, v);
+                weights[slot] = (int) (row[i] >> 32);
+                edgeIds[slot] = e;
+            }
+        }
+        return new CsrGraph(offsets, targets, weights, edgeIds, graph.edgeLimit());
+    }
+
+    /** Number of vertex ids covered by the snapshot, including the ids of removed vertices. */
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    /** Upper bound (exclusive) of the edge ids referenced from {@link #edgeIds}. */
+    public int edgeLimit() {
+        return edgeLimit;
+    }
+
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+}
@@ -0,0 +1,9 @@
+package visualizer.graph;
+
+/** Kind of a record in an {@link EditLog}. */
+public enum EditKind {
+    ADD_VERTEX,
+    REMOVE_VERTEX,
+    ADD_EDGE,
+    REMOVE_EDGE
+}
@@ -0,0 +1,252 @@
+package visualizer.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Edits of a {@link Graph} kept as an append-only log of primitive records, with undo and redo.
+ * Every record holds its {@link EditKind}, the vertex or edge id and the data needed to invert it:
+ * the position and label of a vertex, or the endpoints and weight of an edge. Edits made between
+ * {@link #begin()} and {@link #commit()} form one transaction, which is undone and redone as a whole.
+ *
+ * <p>Undo does not truncate the log; it appends the inverse records, so reading the log from any
+ * index onwards replays exactly the changes the graph has seen since then. Ids come back unchanged
+ * because the graph recycles them last-in first-out, and inverses are applied in reverse order.
+ * All edits must go through the log until {@link #clear()} is called. Record indices keep counting
+ * across a clear, so a reader whose position is below {@link #firstRecord()} knows it missed one.
+ */
+public final class EditLog {
+    private static final int RECORD_SIZE = 5;
+    private static final EditKind[] KINDS = EditKind.values();
+
+    private final Graph graph;
+    private final IntList records = new IntList(16 * RECORD_SIZE);
+    private final List<String> labels = new ArrayList<>();
+    private final IntList undoStack = new IntList();
+    private final IntList redoStack = new IntList();
+    private int base;
+    private int depth;
+    private int transactionStart;
+
+    public EditLog(Graph graph) {
+        this.graph = graph;
+    }
+
+    public int addVertex(int x, int y, String label) {
+        begin();
+        try {
+            return applyAddVertex(x, y, label);
+        } finally {
+            commit();
+        }
+    }
+
+    /** Removes the vertex together with its edges as one transaction. */
+    public void removeVertex(int v) {
+        if (!graph.containsVertex(v)) {
+            throw new IllegalArgumentException("Unknown vertex " + v);
+        }
+        begin();
+        try {
+            while (graph.degree(v) > 0) {
+                applyRemoveEdge(graph.incidentEdge(v, graph.degree(v) - 1));
+            }
+            applyRemoveVertex(v);
+        } finally {
+            commit();
+        }
+    }
+
+    public int addEdge(int source, int target, int weight) {
+        begin();
+        try {
+            return applyAddEdge(source, target, weight);
+        } finally {
+            commit();
+        }
+    }
+
+    public void removeEdge(int e) {
+        begin();
+        try {
+            applyRemoveEdge(e);
+        } finally {
+            commit();
+        }
+    }
+
+    /** Opens a transaction; transactions nest and only the outermost one is recorded for undo. */
+    public void begin() {
+        if (depth++ == 0) {
+            transactionStart = size();
+        }
+    }
+
+    public void commit() {
+        if (depth == 0) {
+            throw new IllegalStateException("No open transaction");
+        }
+        if (--depth == 0 && size() > transactionStart) {
+            undoStack.add(transactionStart);
+            undoStack.add(size());
+            redoStack.clear();
+        }
+    }
+
+    public boolean canUndo() {
+        return depth == 0 && !undoStack.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return depth == 0 && !redoStack.isEmpty();
+    }
+
+    /** Reverts the last transaction by appending its inverse. */
+    public void undo() {
+        if (!canUndo()) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        invert(undoStack, redoStack);
+    }
+
+    /** Applies the last undone transaction again by appending the inverse of its undo. */
+    public void redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("Nothing to redo");
+        }
+        invert(redoStack, undoStack);
+    }
+
+    /** Forgets every record, for when the graph is cleared or replaced as a whole. */
+    public void clear() {
+        if (depth != 0) {
+            throw new IllegalStateException("Cannot clear inside a transaction");
+        }
+        // Skipping an index puts every position taken before the clear below firstRecord().
+        base = size() + 1;
+        records.clear();
+        labels.clear();
+        undoStack.clear();
+        redoStack.clear();
+    }
+
+    /** Index the next record will get. */
+    public int size() {
+        return base + records.size() / RECORD_SIZE;
+    }
+
+    /** Index of the oldest record still kept, i.e. the first one after the last {@link #clear()}. */
+    public int firstRecord() {
+        return base;
+    }
+
+    public EditKind kind(int record) {
+        return KINDS[records.get(offset(record))];
+    }
+
+    /** Vertex or edge the record is about. */
+    public int element(int record) {
+        return records.get(offset(record) + 1);
+    }
+
+    public int x(int record) {
+        return records.get(offset(record) + 2);
+    }
+
+    public int y(int record) {
+        return records.get(offset(record) + 3);
+    }
+
+    /** Own label of the vertex of a vertex record, or {@code null}. */
+    public String label(int record) {
+        int index = records.get(offset(record) + 4);
+        return index < 0 ? null : labels.get(index);
+    }
+
+    public int source(int record) {
+        return records.get(offset(record) + 2);
+    }
+
+    public int target(int record) {
+        return records.get(offset(record) + 3);
+    }
+
+    public int weight(int record) {
+        return records.get(offset(record) + 4);
+    }
+
+    private int offset(int record) {
+        return (record - base) * RECORD_SIZE;
+    }
+
+    private void invert(IntList from, IntList to) {
+        int end = from.removeLast();
+        int start = from.removeLast();
+        int inverseStart = size();
+        for (int record = end - 1; record >= start; record--) {
+            int element = element(record);
+            switch (kind(record)) {
+                case ADD_VERTEX -> applyRemoveVertex(element);
+                case REMOVE_VERTEX -> expectId(applyAddVertex(x(record), y(record), label(record)), element);
+                case ADD_EDGE -> applyRemoveEdge(element);
+                case REMOVE_EDGE -> expectId(applyAddEdge(source(record), target(record), weight(record)), element);
+            }
+        }
+        to.add(inverseStart);
+        to.add(size());
+    }
+
+    private int applyAddVertex(int x, int y, String label) {
+        int v = graph.addVertex(x, y, label);
+        int labelIndex = -1;
+        if (label != null) {
+            labelIndex = labels.size();
+            labels.add(label);
+        }
+        append(EditKind.ADD_VERTEX, v, x, y, labelIndex);
+        return v;
+    }
+
+    private void applyRemoveVertex(int v) {
+        int labelIndex = -1;
+        if (graph.hasOwnLabel(v)) {
+            labelIndex = labels.size();
+            labels.add(graph.label(v));
+        }
+        int x = graph.x(v);
+        int y = graph.y(v);
+        graph.removeVertex(v);
+        append(EditKind.REMOVE_VERTEX, v, x, y, labelIndex);
+    }
+
+    private int applyAddEdge(int source, int target, int weight) {
+        int e = graph.addEdge(source, target, weight);
+        append(EditKind.ADD_EDGE, e, source, target, weight);
+        return e;
+    }
+
+    private void applyRemoveEdge(int e) {
+        if (!graph.containsEdge(e)) {
+            throw new IllegalArgumentException("Unknown edge " + e);
+        }
+        int source = graph.source(e);
+        int target = graph.target(e);
+        int weight = graph.weight(e);
+        graph.removeEdge(e);
+        append(EditKind.REMOVE_EDGE, e, source, target, weight);
+    }
+
+    private void append(EditKind kind, int element, int a, int b, int c) {
+        records.add(kind.ordinal());
+        records.add(element);
+        records.add(a);
+        records.add(b);
+        records.add(c);
+    }
+
+    private static void expectId(int actual, int expected) {
+        if (actual != expected) {
+            throw new IllegalStateException("Graph was edited outside its edit log");
+        }
+    }
+}
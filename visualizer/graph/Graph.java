@@ -0,0 +1,430 @@
+package visualizer.graph;
+
+import java.util.Arrays;
+
+/**
+ * Headless undirected weighted graph. Vertices and edges are addressed by dense int ids which are
+ * recycled after removal. Every vertex keeps an array of its incident edge ids and every edge
+ * remembers its slot in both endpoint arrays, so inserting and removing an edge are O(1) amortized.
+ * Labels are unique and interned in a hash table, so a vertex is found from its label in O(1).
+ */
+public class Graph {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INITIAL_DEGREE = 4;
+    private static final int[] NO_EDGES = new int[0];
+
+    private int vertexLimit;
+    private int vertexCount;
+    private boolean[] vertexAlive = new boolean[INITIAL_CAPACITY];
+    private int[] vertexX = new int[INITIAL_CAPACITY];
+    private int[] vertexY = new int[INITIAL_CAPACITY];
+    private String[] vertexLabels = new String[INITIAL_CAPACITY];
+    private LabelTable labelIds = new LabelTable();
+    private int[][] adjacency = new int[INITIAL_CAPACITY][];
+    private int[] degree = new int[INITIAL_CAPACITY];
+    private int[] freeVertices = new int[INITIAL_CAPACITY];
+    private int freeVertexCount;
+
+    private int edgeLimit;
+    private int edgeCount;
+    private boolean[] edgeAlive = new boolean[INITIAL_CAPACITY];
+    private int[] edgeSource = new int[INITIAL_CAPACITY];
+    private int[] edgeTarget = new int[INITIAL_CAPACITY];
+    private int[] edgeWeight = new int[INITIAL_CAPACITY];
+    private int[] sourceSlot = new int[INITIAL_CAPACITY];
+    private int[] targetSlot = new int[INITIAL_CAPACITY];
+    private int[] freeEdges = new int[INITIAL_CAPACITY];
+    private int freeEdgeCount;
+
+    private int modCount;
+    private int version;
+
+    /**
+     * Builds a graph from parallel arrays without per-element inserts. The arrays are adopted, not
+     * copied; vertex {@code i} gets id {@code i} and edge {@code i} gets id {@code i}. Every adjacency
+     * array is allocated at its exact final size.
+     */
+    public static Graph of(int[] x, int[] y, String[] labels, int[] sources, int[] targets, int[] weights) {
+        int n = x.length;
+        int m = sources.length;
+        if (y.length != n || labels.length != n || targets.length != m || weights.length != m) {
+            throw new IllegalArgumentException("Array lengths do not match");
+        }
+        Graph graph = new Graph();
+        graph.vertexLimit = n;
+        graph.vertexCount = n;
+        graph.vertexAlive = new boolean[n];
+        Arrays.fill(graph.vertexAlive, true);
+        graph.vertexX = x;
+        graph.vertexY = y;
+        graph.vertexLabels = labels;
+        for (int v = 0; v < n; v++) {
+            if (labels[v] != null && !graph.labelIds.add(labels[v], v)) {
+                throw new IllegalArgumentException("Duplicate vertex label " + labels[v]);
+            }
+        }
+        graph.degree = new int[n];
+        graph.adjacency = new int[n][];
+        graph.freeVertices = new int[INITIAL_CAPACITY];
+
+        for (int e = 0; e < m; e++) {
+            if (sources[e] < 0 || sources[e] >= n || targets[e] < 0 || targets[e] >= n) {
+                throw new IllegalArgumentException("Edge " + e + " references an unknown vertex");
+            }
+            graph.degree[sources[e]]++;
+            graph.degree[targets[e]]++;
+        }
+        for (int v = 0; v < n; v++) {
+            graph.adjacency[v] = graph.degree[v] == 0 ? NO_EDGES : new int[graph.degree[v]];
+            graph.degree[v] = 0;
+        }
+
+        graph.edgeLimit = m;
+        graph.edgeCount = m;
+        graph.edgeAlive = new boolean[m];
+        Arrays.fill(graph.edgeAlive, true);
+        graph.edgeSource = sources;
+        graph.edgeTarget = targets;
+        graph.edgeWeight = weights;
+        graph.sourceSlot = new int[m];
+        graph.targetSlot = new int[m];
+        graph.freeEdges = new int[INITIAL_CAPACITY];
+        for (int e = 0; e < m; e++) {
+            int source = sources[e];
+            int target = targets[e];
+            graph.adjacency[source][graph.degree[source]] = e;
+            graph.sourceSlot[e] = graph.degree[source]++;
+            graph.adjacency[target][graph.degree[target]] = e;
+            graph.targetSlot[e] = graph.degree[target]++;
+        }
+        return graph;
+    }
+
+    /** Replaces the contents of this graph with those of {@code other} in O(1), leaving {@code other} empty. */
+    public void moveFrom(Graph other) {
+        vertexLimit = other.vertexLimit;
+        vertexCount = other.vertexCount;
+        vertexAlive = other.vertexAlive;
+        vertexX = other.vertexX;
+        vertexY = other.vertexY;
+        vertexLabels = other.vertexLabels;
+        labelIds = other.labelIds;
+        adjacency = other.adjacency;
+        degree = other.degree;
+        freeVertices = other.freeVertices;
+        freeVertexCount = other.freeVertexCount;
+        edgeLimit = other.edgeLimit;
+        edgeCount = other.edgeCount;
+        edgeAlive = other.edgeAlive;
+        edgeSource = other.edgeSource;
+        edgeTarget = other.edgeTarget;
+        edgeWeight = other.edgeWeight;
+        sourceSlot = other.sourceSlot;
+        targetSlot = other.targetSlot;
+        freeEdges = other.freeEdges;
+        freeEdgeCount = other.freeEdgeCount;
+        modCount++;
+        version++;
+
+        Graph empty = new Graph();
+        other.vertexLimit = 0;
+        other.vertexCount = 0;
+        other.vertexAlive = empty.vertexAlive;
+        other.vertexX = empty.vertexX;
+        other.vertexY = empty.vertexY;
+        other.vertexLabels = empty.vertexLabels;
+        other.labelIds = empty.labelIds;
+        other.adjacency = empty.adjacency;
+        other.degree = empty.degree;
+        other.freeVertices = empty.freeVertices;
+        other.freeVertexCount = 0;
+        other.edgeLimit = 0;
+        other.edgeCount = 0;
+        other.edgeAlive = empty.edgeAlive;
+        other.edgeSource = empty.edgeSource;
+        other.edgeTarget = empty.edgeTarget;
+        other.edgeWeight = empty.edgeWeight;
+        other.sourceSlot = empty.sourceSlot;
+        other.targetSlot = empty.targetSlot;
+        other.freeEdges = empty.freeEdges;
+        other.freeEdgeCount = 0;
+        other.modCount++;
+        other.version++;
+    }
+
+    public int addVertex(int x, int y, String label) {
+        if (label != null && labelIds.get(label) >= 0) {
+            throw new IllegalArgumentException("Duplicate vertex label " + label);
+        }
+        int v;
+        if (freeVertexCount > 0) {
+            v = freeVertices[--freeVertexCount];
+        } else {
+            ensureVertexCapacity(vertexLimit + 1);
+            v = vertexLimit++;
+        }
+        vertexAlive[v] = true;
+        vertexX[v] = x;
+        vertexY[v] = y;
+        vertexLabels[v] = label;
+        if (label != null) {
+            labelIds.add(label, v);
+        }
+        adjacency[v] = NO_EDGES;
+        degree[v] = 0;
+        vertexCount++;
+        modCount++;
+        version++;
+        return v;
+    }
+
+    public void removeVertex(int v) {
+        checkVertex(v);
+        while (degree[v] > 0) {
+            removeEdge(adjacency[v][degree[v] - 1]);
+        }
+        vertexAlive[v] = false;
+        if (vertexLabels[v] != null) {
+            labelIds.remove(vertexLabels[v]);
+        }
+        vertexLabels[v] = null;
+        adjacency[v] = NO_EDGES;
+        if (freeVertexCount == freeVertices.length) {
+            freeVertices = Arrays.copyOf(freeVertices, freeVertices.length * 2);
+        }
+        freeVertices[freeVertexCount++] = v;
+        vertexCount--;
+        modCount++;
+        version++;
+    }
+
+    public int addEdge(int source, int target, int weight) {
+        checkVertex(source);
+        checkVertex(target);
+        int e;
+        if (freeEdgeCount > 0) {
+            e = freeEdges[--freeEdgeCount];
+        } else {
+            ensureEdgeCapacity(edgeLimit + 1);
+            e = edgeLimit++;
+        }
+        edgeAlive[e] = true;
+        edgeSource[e] = source;
+        edgeTarget[e] = target;
+        edgeWeight[e] = weight;
+        sourceSlot[e] = appendIncident(source, e);
+        targetSlot[e] = appendIncident(target, e);
+        edgeCount++;
+        modCount++;
+        version++;
+        return e;
+    }
+
+    public void removeEdge(int e) {
+        checkEdge(e);
+        removeIncident(edgeSource[e], sourceSlot[e]);
+        removeIncident(edgeTarget[e], targetSlot[e]);
+        edgeAlive[e] = false;
+        if (freeEdgeCount == freeEdges.length) {
+            freeEdges = Arrays.copyOf(freeEdges, freeEdges.length * 2);
+        }
+        freeEdges[freeEdgeCount++] = e;
+        edgeCount--;
+        modCount++;
+        version++;
+    }
+
+    public void clear() {
+        Arrays.fill(vertexAlive, 0, vertexLimit, false);
+        Arrays.fill(vertexLabels, 0, vertexLimit, null);
+        labelIds.clear();
+        Arrays.fill(adjacency, 0, vertexLimit, null);
+        Arrays.fill(edgeAlive, 0, edgeLimit, false);
+        vertexLimit = 0;
+        vertexCount = 0;
+        freeVertexCount = 0;
+        edgeLimit = 0;
+        edgeCount = 0;
+        freeEdgeCount = 0;
+        modCount++;
+        version++;
+    }
+
+    public int findEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        int from = degree[u] <= degree[v] ? u : v;
+        int[] incident = adjacency[from];
+        for (int i = 0; i < degree[from]; i++) {
+            int e = incident[i];
+            if (edgeSource[e] == u && edgeTarget[e] == v || edgeSource[e] == v && edgeTarget[e] == u) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    public boolean containsVertex(int v) {
+        return v >= 0 && v < vertexLimit && vertexAlive[v];
+    }
+
+    public boolean containsEdge(int e) {
+        return e >= 0 && e < edgeLimit && edgeAlive[e];
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /** Upper bound (exclusive) of the vertex ids currently in use; size per-vertex arrays with it. */
+    public int vertexLimit() {
+        return vertexLimit;
+    }
+
+    /** Upper bound (exclusive) of the edge ids currently in use; size per-edge arrays with it. */
+    public int edgeLimit() {
+        return edgeLimit;
+    }
+
+    /** Counter bumped by every structural or geometric change, for caches built from the graph. */
+    public int modCount() {
+        return modCount;
+    }
+
+    /**
+     * Counter bumped only when vertices or edges are added or removed, for caches that do not care
+     * about positions, such as shortest path results.
+     */
+    public int version() {
+        return version;
+    }
+
+    public int degree(int v) {
+        return degree[v];
+    }
+
+    public int incidentEdge(int v, int index) {
+        return adjacency[v][index];
+    }
+
+    public int source(int e) {
+        return edgeSource[e];
+    }
+
+    public int target(int e) {
+        return edgeTarget[e];
+    }
+
+    public int opposite(int e, int v) {
+        return edgeSource[e] == v ? edgeTarget[e] : edgeSource[e];
+    }
+
+    public int weight(int e) {
+        return edgeWeight[e];
+    }
+
+    public int x(int v) {
+        return vertexX[v];
+    }
+
+    public int y(int v) {
+        return vertexY[v];
+    }
+
+    public void setPosition(int v, int x, int y) {
+        vertexX[v] = x;
+        vertexY[v] = y;
+        modCount++;
+    }
+
+    /** Label of the vertex; vertices loaded without one are labelled with their id. */
+    public String label(int v) {
+        String label = vertexLabels[v];
+        return label != null ? label : Integer.toString(v);
+    }
+
+    /**
+     * Vertex displayed with {@code label}, or {@code -1}. Besides the interned labels this resolves
+     * the id labels of vertices that have no label of their own.
+     */
+    public int vertexOf(String label) {
+        int v = labelIds.get(label);
+        if (v < 0 && !label.isEmpty() && label.length() <= 10 && label.chars().allMatch(Character::isDigit)) {
+            long id = Long.parseLong(label);
+            if (id < vertexLimit && vertexAlive[(int) id] && vertexLabels[(int) id] == null
+                    && label.equals(Long.toString(id))) {
+                v = (int) id;
+            }
+        }
+        return v;
+    }
+
+    /** Whether the vertex was given a label of its own rather than falling back to its id. */
+    public boolean hasOwnLabel(int v) {
+        return vertexLabels[v] != null;
+    }
+
+    private int appendIncident(int v, int e) {
+        int[] incident = adjacency[v];
+        if (degree[v] == incident.length) {
+            incident = Arrays.copyOf(incident, Math.max(INITIAL_DEGREE, incident.length * 2));
+            adjacency[v] = incident;
+        }
+        incident[degree[v]] = e;
+        return degree[v]++;
+    }
+
+    private void removeIncident(int v, int slot) {
+        int[] incident = adjacency[v];
+        int last = --degree[v];
+        int moved = incident[last];
+        incident[slot] = moved;
+        if (edgeSource[moved] == v && sourceSlot[moved] == last) {
+            sourceSlot[moved] = slot;
+        } else {
+            targetSlot[moved] = slot;
+        }
+    }
+
+    private void ensureVertexCapacity(int capacity) {
+        if (capacity <= vertexAlive.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, vertexAlive.length * 2);
+        vertexAlive = Arrays.copyOf(vertexAlive, newCapacity);
+        vertexX = Arrays.copyOf(vertexX, newCapacity);
+        vertexY = Arrays.copyOf(vertexY, newCapacity);
+        vertexLabels = Arrays.copyOf(vertexLabels, newCapacity);
+        adjacency = Arrays.copyOf(adjacency, newCapacity);
+        degree = Arrays.copyOf(degree, newCapacity);
+    }
+
+    private void ensureEdgeCapacity(int capacity) {
+        if (capacity <= edgeAlive.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, edgeAlive.length * 2);
+        edgeAlive = Arrays.copyOf(edgeAlive, newCapacity);
+        edgeSource = Arrays.copyOf(edgeSource, newCapacity);
+        edgeTarget = Arrays.copyOf(edgeTarget, newCapacity);
+        edgeWeight = Arrays.copyOf(edgeWeight, newCapacity);
+        sourceSlot = Arrays.copyOf(sourceSlot, newCapacity);
+        targetSlot = Arrays.copyOf(targetSlot, newCapacity);
+    }
+
+    private void checkVertex(int v) {
+        if (!containsVertex(v)) {
+            throw new IllegalArgumentException("Unknown vertex " + v);
+        }
+    }
+
+    private void checkEdge(int e) {
+        if (!containsEdge(e)) {
+            throw new IllegalArgumentException("Unknown edge " + e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package visualizer.graph;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table interning vertex labels to their int ids. Keys and ids live in two
+ * parallel arrays probed linearly, and removals shift the following run back instead of leaving
+ * tombstones, so lookups stay O(1) expected however many vertices come and go.
+ */
+final class LabelTable {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NOT_FOUND = -1;
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int size;
+
+    int get(String label) {
+        int mask = keys.length - 1;
+        for (int slot = slot(label, mask); keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(label)) {
+                return ids[slot];
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /** Maps {@code label} to {@code id} unless the label is already taken; returns whether it was added. */
+    boolean add(String label, int id) {
+        if (2 * (size + 1) > keys.length) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int slot = slot(label, mask);
+        for (; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(label)) {
+                return false;
+            }
+        }
+        keys[slot] = label;
+        ids[slot] = id;
+        size++;
+        return true;
+    }
+
+    void remove(String label) {
+        int mask = keys.length - 1;
+        int slot = slot(label, mask);
+        while (keys[slot] != null && !keys[slot].equals(label)) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == null) {
+            return;
+        }
+        // Backward-shift deletion: pull every later entry of the run whose home slot does not lie
+        // cyclically between the hole and the entry itself.
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != null; next = (next + 1) & mask) {
+            int home = slot(keys[next], mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                ids[hole] = ids[next];
+                hole = next;
+            }
+        }
+        keys[hole] = null;
+        size--;
+    }
+
+    void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        String[] oldKeys = keys;
+        int[] oldIds = ids;
+        keys = new String[capacity];
+        ids = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = slot(oldKeys[i], mask);
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                ids[slot] = oldIds[i];
+            }
+        }
+    }
+
+    private static int slot(String label, int mask) {
+        int h = label.hashCode() * 0x9E3779B9;
+        return (h ^ h >>> 16) & mask;
+    }
+}
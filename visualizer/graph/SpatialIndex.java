@@ -0,0 +1,337 @@
+package visualizer.graph;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid over the vertex centres of a {@link Graph}, plus a pyramid of ever coarser grids
+ * over the edge segments. Vertex cells are sized so that they hold a constant number of vertices on
+ * average, which makes point queries O(1) expected and rectangle queries proportional to what they
+ * return. Each edge is kept in the cells its segment crosses on the finest level of the pyramid at
+ * which it spans at most {@value #MAX_SPAN} cells in each direction, so it occupies a bounded
+ * number of cells however long it is, and the whole index stays linear in the size of the graph.
+ * The index is rebuilt lazily whenever {@link Graph#modCount()} moves on.
+ */
+public final class SpatialIndex {
+    private static final int MIN_CELL_SIZE = 64;
+    private static final int MAX_SPAN = 4;
+    private static final int MAX_CELLS_PER_EDGE = 2 * MAX_SPAN - 1;
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final Graph graph;
+    private int builtModCount = -1;
+
+    private int originX;
+    private int originY;
+    private int cellSize = MIN_CELL_SIZE;
+    private int columns;
+    private int rows;
+
+    private int[] vertexCellStart = new int[1];
+    private int[] vertexCellItems = new int[0];
+
+    /** Cells of level {@code l} are {@code 2^l} vertex cells wide and start at {@code levelStart[l]}. */
+    private int levels;
+    private int[] levelStart = new int[1];
+    private int[] edgeCellStart = new int[1];
+    private int[] edgeCellItems = new int[0];
+
+    private int[] edgeStamps = new int[0];
+    private int stamp;
+
+    public SpatialIndex(Graph graph) {
+        this.graph = graph;
+    }
+
+    /** Vertex whose centre is nearest to the point and at most {@code radius} away, or {@code -1}. */
+    public int nearestVertex(int x, int y, int radius) {
+        ensureBuilt();
+        int nearest = -1;
+        long nearestDistance = (long) radius * radius;
+        int minColumn = column(x - radius);
+        int maxColumn = column(x + radius);
+        int minRow = row(y - radius);
+        int maxRow = row(y + radius);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                int cell = r * columns + c;
+                for (int i = vertexCellStart[cell]; i < vertexCellStart[cell + 1]; i++) {
+                    int v = vertexCellItems[i];
+                    long dx = x - graph.x(v);
+                    long dy = y - graph.y(v);
+                    long distance = dx * dx + dy * dy;
+                    if (distance <= nearestDistance) {
+                        nearestDistance = distance;
+                        nearest = v;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /** Edge whose segment passes nearest to the point and at most {@code tolerance} away, or {@code -1}. */
+    public int nearestEdge(int x, int y, int tolerance) {
+        ensureBuilt();
+        int nearest = -1;
+        double nearestDistance = (double) tolerance * tolerance;
+        int minColumn = column(x - tolerance);
+        int maxColumn = column(x + tolerance);
+        int minRow = row(y - tolerance);
+        int maxRow = row(y + tolerance);
+        for (int level = 0; level < levels; level++) {
+            int levelColumns = levelColumns(level);
+            for (int r = minRow >> level; r <= maxRow >> level; r++) {
+                int first = levelStart[level] + r * levelColumns;
+                for (int cell = first + (minColumn >> level), last = first + (maxColumn >> level); cell <= last; cell++) {
+                    for (int i = edgeCellStart[cell]; i < edgeCellStart[cell + 1]; i++) {
+                        int e = edgeCellItems[i];
+                        double distance = segmentDistanceSq(x, y, e);
+                        if (distance <= nearestDistance) {
+                            nearestDistance = distance;
+                            nearest = e;
+                        }
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /** Adds to {@code out} every vertex whose cell overlaps the rectangle; callers clip exactly if they need to. */
+    public void verticesIn(int minX, int minY, int maxX, int maxY, IntList out) {
+        ensureBuilt();
+        if (!overlapsGrid(minX, minY, maxX, maxY)) {
+            return;
+        }
+        for (int r = row(minY); r <= row(maxY); r++) {
+            for (int cell = r * columns + column(minX), last = r * columns + column(maxX); cell <= last; cell++) {
+                for (int i = vertexCellStart[cell]; i < vertexCellStart[cell + 1]; i++) {
+                    out.add(vertexCellItems[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds to {@code out}, once each, every edge kept in a cell that overlaps the rectangle, i.e. at
+     * least every edge whose segment does.
+     */
+    public void edgesIn(int minX, int minY, int maxX, int maxY, IntList out) {
+        ensureBuilt();
+        if (!overlapsGrid(minX, minY, maxX, maxY)) {
+            return;
+        }
+        if (++stamp == 0) {
+            Arrays.fill(edgeStamps, 0);
+            stamp = 1;
+        }
+        int minColumn = column(minX);
+        int maxColumn = column(maxX);
+        int minRow = row(minY);
+        int maxRow = row(maxY);
+        for (int level = 0; level < levels; level++) {
+            int levelColumns = levelColumns(level);
+            for (int r = minRow >> level; r <= maxRow >> level; r++) {
+                int first = levelStart[level] + r * levelColumns;
+                for (int cell = first + (minColumn >> level), last = first + (maxColumn >> level); cell <= last; cell++) {
+                    for (int i = edgeCellStart[cell]; i < edgeCellStart[cell + 1]; i++) {
+                        int e = edgeCellItems[i];
+                        if (edgeStamps[e] != stamp) {
+                            edgeStamps[e] = stamp;
+                            out.add(e);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public double segmentDistanceSq(int x, int y, int e) {
+        int x1 = graph.x(graph.source(e));
+        int y1 = graph.y(graph.source(e));
+        double dx = graph.x(graph.target(e)) - x1;
+        double dy = graph.y(graph.target(e)) - y1;
+        double lengthSq = dx * dx + dy * dy;
+        double t = lengthSq == 0 ? 0 : ((x - x1) * dx + (y - y1) * dy) / lengthSq;
+        t = Math.max(0, Math.min(1, t));
+        double px = x1 + t * dx - x;
+        double py = y1 + t * dy - y;
+        return px * px + py * py;
+    }
+
+    private boolean overlapsGrid(int minX, int minY, int maxX, int maxY) {
+        return maxX >= originX && maxY >= originY
+                && minX < originX + (long) columns * cellSize && minY < originY + (long) rows * cellSize;
+    }
+
+    private int column(int x) {
+        return (int) Math.max(0, Math.min(columns - 1, Math.floorDiv((long) x - originX, cellSize)));
+    }
+
+    private int row(int y) {
+        return (int) Math.max(0, Math.min(rows - 1, Math.floorDiv((long) y - originY, cellSize)));
+    }
+
+    private int levelColumns(int level) {
+        return ((columns - 1) >> level) + 1;
+    }
+
+    private int levelRows(int level) {
+        return ((rows - 1) >> level) + 1;
+    }
+
+    private void ensureBuilt() {
+        if (builtModCount != graph.modCount()) {
+            rebuild();
+            builtModCount = graph.modCount();
+        }
+    }
+
+    private void rebuild() {
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (int v = 0; v < graph.vertexLimit(); v++) {
+            if (graph.containsVertex(v)) {
+                minX = Math.min(minX, graph.x(v));
+                minY = Math.min(minY, graph.y(v));
+                maxX = Math.max(maxX, graph.x(v));
+                maxY = Math.max(maxY, graph.y(v));
+            }
+        }
+        if (graph.vertexCount() == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+        long width = (long) maxX - minX + 1;
+        long height = (long) maxY - minY + 1;
+        double area = (double) width * height;
+        cellSize = (int) Math.max(MIN_CELL_SIZE, Math.ceil(Math.sqrt(area / Math.max(1, graph.vertexCount()))));
+        originX = minX;
+        originY = minY;
+        columns = (int) ((width + cellSize - 1) / cellSize);
+        rows = (int) ((height + cellSize - 1) / cellSize);
+        int cells = checkedLength((long) columns * rows + 1) - 1;
+
+        vertexCellStart = new int[cells + 1];
+        for (int v = 0; v < graph.vertexLimit(); v++) {
+            if (graph.containsVertex(v)) {
+                vertexCellStart[cellOf(v) + 1]++;
+            }
+        }
+        prefixSum(vertexCellStart);
+        vertexCellItems = new int[graph.vertexCount()];
+        int[] fill = vertexCellStart.clone();
+        for (int v = 0; v < graph.vertexLimit(); v++) {
+            if (graph.containsVertex(v)) {
+                vertexCellItems[fill[cellOf(v)]++] = v;
+            }
+        }
+
+        levels = 1 + Math.max(32 - Integer.numberOfLeadingZeros(columns - 1), 32 - Integer.numberOfLeadingZeros(rows - 1));
+        levelStart = new int[levels + 1];
+        long pyramidCells = 0;
+        for (int level = 0; level < levels; level++) {
+            levelStart[level] = (int) pyramidCells;
+            pyramidCells += (long) levelColumns(level) * levelRows(level);
+            checkedLength(pyramidCells + 1);
+        }
+        levelStart[levels] = (int) pyramidCells;
+        checkedLength((long) MAX_CELLS_PER_EDGE * graph.edgeCount());
+
+        edgeCellStart = new int[levelStart[levels] + 1];
+        for (int e = 0; e < graph.edgeLimit(); e++) {
+            if (graph.containsEdge(e)) {
+                indexEdge(e, null);
+            }
+        }
+        prefixSum(edgeCellStart);
+        edgeCellItems = new int[edgeCellStart[levelStart[levels]]];
+        fill = edgeCellStart.clone();
+        for (int e = 0; e < graph.edgeLimit(); e++) {
+            if (graph.containsEdge(e)) {
+                indexEdge(e, fill);
+            }
+        }
+        if (edgeStamps.length < graph.edgeLimit()) {
+            edgeStamps = new int[graph.edgeLimit()];
+            stamp = 0;
+        }
+    }
+
+    private static int checkedLength(long length) {
+        if (length > MAX_ARRAY_LENGTH) {
+            throw new IllegalStateException("Graph too large to index: " + length + " slots");
+        }
+        return (int) length;
+    }
+
+    private int cellOf(int v) {
+        return row(graph.y(v)) * columns + column(graph.x(v));
+    }
+
+    /**
+     * Visits, in order, the cells crossed by the segment of {@code e} on the finest level at which
+     * it spans at most {@link #MAX_SPAN} cells in each direction. Without {@code fill} the visit
+     * only counts the edge into {@code edgeCellStart}; with it the edge is written to its slots.
+     */
+    private void indexEdge(int e, int[] fill) {
+        int sourceX = graph.x(graph.source(e));
+        int sourceY = graph.y(graph.source(e));
+        int targetX = graph.x(graph.target(e));
+        int targetY = graph.y(graph.target(e));
+        int level = 0;
+        while (Math.abs((column(sourceX) >> level) - (column(targetX) >> level)) >= MAX_SPAN
+                || Math.abs((row(sourceY) >> level) - (row(targetY) >> level)) >= MAX_SPAN) {
+            level++;
+        }
+        int levelColumns = levelColumns(level);
+        int levelRows = levelRows(level);
+        double levelCellSize = (double) cellSize * (1 << level);
+        double x0 = (sourceX - originX) / levelCellSize;
+        double y0 = (sourceY - originY) / levelCellSize;
+        double x1 = (targetX - originX) / levelCellSize;
+        double y1 = (targetY - originY) / levelCellSize;
+        int column = Math.min(levelColumns - 1, (int) x0);
+        int row = Math.min(levelRows - 1, (int) y0);
+        int endColumn = Math.min(levelColumns - 1, (int) x1);
+        int endRow = Math.min(levelRows - 1, (int) y1);
+
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        double tMaxX = dx == 0 ? Double.POSITIVE_INFINITY : ((stepX > 0 ? column + 1 : column) - x0) / dx;
+        double tMaxY = dy == 0 ? Double.POSITIVE_INFINITY : ((stepY > 0 ? row + 1 : row) - y0) / dy;
+        double tDeltaX = dx == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dx);
+        double tDeltaY = dy == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dy);
+
+        int steps = Math.abs(endColumn - column) + Math.abs(endRow - row);
+        int first = levelStart[level];
+        addToCell(first + row * levelColumns + column, e, fill);
+        for (int i = 0; i < steps; i++) {
+            if (column != endColumn && (row == endRow || tMaxX < tMaxY)) {
+                column += stepX;
+                tMaxX += tDeltaX;
+            } else {
+                row += stepY;
+                tMaxY += tDeltaY;
+            }
+            addToCell(first + row * levelColumns + column, e, fill);
+        }
+    }
+
+    private void addToCell(int cell, int e, int[] fill) {
+        if (fill == null) {
+            edgeCellStart[cell + 1]++;
+        } else {
+            edgeCellItems[fill[cell]++] = e;
+        }
+    }
+
+    private static void prefixSum(int[] counts) {
+        for (int i = 1; i < counts.length; i++) {
+            counts[i] += counts[i - 1];
+        }
+    }
+}
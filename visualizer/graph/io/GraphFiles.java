@@ -0,0 +1,356 @@
+package visualizer.graph.io;
+
+import visualizer.graph.Graph;
+import visualizer.graph.IntList;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes graphs as plain edge lists, DIMACS shortest-path files or the compact binary
+ * format. Text is parsed straight from a byte buffer into int lists; the binary format is memory
+ * mapped and copied in bulk into the arrays the {@link Graph} adopts.
+ *
+ * <p>Edge lists hold one {@code source target [weight]} line per edge with 0-based vertex ids and
+ * treat {@code #} and {@code %} lines as comments; a {@code # vertices n} line gives the vertex
+ * count. DIMACS files use {@code p sp n m} and 1-based {@code a source target weight} arcs, with
+ * {@code c} lines as comments. Neither text format stores positions or labels, so vertices are laid
+ * out on a grid and labelled with their ids.
+ */
+public final class GraphFiles {
+    private static final int BINARY_MAGIC = 0x31425647;
+    private static final int NO_LABEL = -1;
+    private static final int GRID_SPACING = 80;
+    private static final int GRID_MARGIN = 40;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private GraphFiles() {
+    }
+
+    public static Graph read(Path path) throws IOException {
+        return read(path, GraphFormat.of(path));
+    }
+
+    public static Graph read(Path path, GraphFormat format) throws IOException {
+        switch (format) {
+            case BINARY:
+                return readBinary(path);
+            case DIMACS:
+                try (TokenReader reader = new TokenReader(Files.newInputStream(path))) {
+                    return readDimacs(reader);
+                }
+            default:
+                try (TokenReader reader = new TokenReader(Files.newInputStream(path))) {
+                    return readEdgeList(reader);
+                }
+        }
+    }
+
+    public static void write(Graph graph, Path path) throws IOException {
+        write(graph, path, GraphFormat.of(path));
+    }
+
+    public static void write(Graph graph, Path path, GraphFormat format) throws IOException {
+        int[] denseIds = denseIds(graph);
+        switch (format) {
+            case BINARY:
+                writeBinary(graph, denseIds, path);
+                break;
+            case DIMACS:
+                try (Writer writer = Files.newBufferedWriter(path)) {
+                    writeDimacs(graph, denseIds, writer);
+                }
+                break;
+            default:
+                try (Writer writer = Files.newBufferedWriter(path)) {
+                    writeEdgeList(graph, denseIds, writer);
+                }
+        }
+    }
+
+    static Graph readEdgeList(TokenReader reader) throws IOException {
+        IntList sources = new IntList();
+        IntList targets = new IntList();
+        IntList weights = new IntList();
+        int vertexCount = 0;
+        while (!reader.atEnd()) {
+            if (reader.atLineEnd() || reader.peek() == '%') {
+                reader.skipLine();
+                continue;
+            }
+            if (reader.peek() == '#') {
+                // The header writeEdgeList puts first keeps isolated vertices with the highest ids.
+                reader.skipWord();
+                if (reader.nextWordIs("vertices") && reader.atDigit()) {
+                    vertexCount = Math.max(vertexCount, reader.nextInt());
+                }
+                reader.skipLine();
+                continue;
+            }
+            int source = reader.nextInt();
+            int target = reader.nextInt();
+            int weight = reader.atLineEnd() ? 1 : reader.nextInt();
+            if (source < 0 || target < 0) {
+                throw reader.error("negative vertex id");
+            }
+            sources.add(source);
+            targets.add(target);
+            weights.add(weight);
+            vertexCount = Math.max(vertexCount, Math.max(source, target) + 1);
+            reader.skipLine();
+        }
+        return build(vertexCount, sources.toArray(), targets.toArray(), weights.toArray());
+    }
+
+    static Graph readDimacs(TokenReader reader) throws IOException {
+        IntList sources = new IntList();
+        IntList targets = new IntList();
+        IntList weights = new IntList();
+        IntList reversed = new IntList();
+        int vertexCount = -1;
+        while (!reader.atEnd()) {
+            if (reader.atLineEnd()) {
+                reader.skipLine();
+                continue;
+            }
+            int kind = reader.peek();
+            if (kind == 'p') {
+                reader.skipWord();
+                reader.skipWord();
+                vertexCount = reader.nextInt();
+            } else if (kind == 'a' || kind == 'e') {
+                if (vertexCount < 0) {
+                    throw reader.error("arc before problem line");
+                }
+                reader.skipWord();
+                int source = reader.nextInt() - 1;
+                int target = reader.nextInt() - 1;
+                int weight = reader.atLineEnd() ? 1 : reader.nextInt();
+                if (source < 0 || target < 0 || source >= vertexCount || target >= vertexCount) {
+                    throw reader.error("vertex id out of range");
+                }
+                if (source <= target) {
+                    sources.add(source);
+                    targets.add(target);
+                    weights.add(weight);
+                } else {
+                    reversed.add(source);
+                    reversed.add(target);
+                    reversed.add(weight);
+                }
+            } else if (kind != 'c') {
+                throw reader.error("unknown line type '" + (char) kind + "'");
+            }
+            reader.skipLine();
+        }
+        if (vertexCount < 0) {
+            throw reader.error("missing problem line");
+        }
+
+        Graph graph = build(vertexCount, sources.toArray(), targets.toArray(), weights.toArray());
+        // Undirected graphs are stored as symmetric arc pairs; a backward arc consumes one unmatched
+        // forward twin with the same weight and is only added when none is left.
+        boolean[] matched = new boolean[graph.edgeLimit()];
+        for (int i = 0; i < reversed.size(); i += 3) {
+            int source = reversed.get(i);
+            int target = reversed.get(i + 1);
+            int weight = reversed.get(i + 2);
+            int twin = findTwin(graph, matched, target, source, weight);
+            if (twin >= 0) {
+                matched[twin] = true;
+            } else {
+                graph.addEdge(source, target, weight);
+            }
+        }
+        return graph;
+    }
+
+    private static int findTwin(Graph graph, boolean[] matched, int source, int target, int weight) {
+        int from = graph.degree(source) <= graph.degree(target) ? source : target;
+        for (int i = 0; i < graph.degree(from); i++) {
+            int e = graph.incidentEdge(from, i);
+            if (e < matched.length && !matched[e] && graph.source(e) == source
+                    && graph.target(e) == target && graph.weight(e) == weight) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    static Graph readBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Binary graph files are limited to 2 GB");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (size < 12 || buffer.getInt() != BINARY_MAGIC) {
+                throw new IOException("Not a binary graph file: " + path);
+            }
+            int n = buffer.getInt();
+            int m = buffer.getInt();
+            if (n < 0 || m < 0 || 12 + 8L * n + 12L * m > size) {
+                throw new IOException("Truncated binary graph file: " + path);
+            }
+
+            IntBuffer ints = buffer.asIntBuffer();
+            int[] x = new int[n];
+            int[] y = new int[n];
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            int[] weights = new int[m];
+            ints.get(x).get(y).get(sources).get(targets).get(weights);
+            buffer.position(buffer.position() + 4 * (2 * n + 3 * m));
+
+            String[] labels = new String[n];
+            if (buffer.hasRemaining()) {
+                byte[] bytes = new byte[64];
+                for (int v = 0; v < n; v++) {
+                    if (buffer.remaining() < 4) {
+                        throw new IOException("Damaged binary graph file: " + path);
+                    }
+                    int length = buffer.getInt();
+                    if (length != NO_LABEL) {
+                        if (length < 0 || length > buffer.remaining()) {
+                            throw new IOException("Damaged binary graph file: " + path);
+                        }
+                        if (length > bytes.length) {
+                            bytes = new byte[length];
+                        }
+                        buffer.get(bytes, 0, length);
+                        labels[v] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+                    }
+                }
+            }
+            try {
+                return Graph.of(x, y, labels, sources, targets, weights);
+            } catch (IllegalArgumentException ex) {
+                throw new IOException(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    static void writeEdgeList(Graph graph, int[] denseIds, Writer writer) throws IOException {
+        BufferedWriter out = new BufferedWriter(writer, WRITE_BUFFER_SIZE);
+        out.write("# vertices " + graph.vertexCount() + " edges " + graph.edgeCount() + "\n");
+        for (int e = 0; e < graph.edgeLimit(); e++) {
+            if (graph.containsEdge(e)) {
+                out.write(Integer.toString(denseIds[graph.source(e)]));
+                out.write(' ');
+                out.write(Integer.toString(denseIds[graph.target(e)]));
+                out.write(' ');
+                out.write(Integer.toString(graph.weight(e)));
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+
+    static void writeDimacs(Graph graph, int[] denseIds, Writer writer) throws IOException {
+        BufferedWriter out = new BufferedWriter(writer, WRITE_BUFFER_SIZE);
+        long arcs = 0;
+        for (int e = 0; e < graph.edgeLimit(); e++) {
+            if (graph.containsEdge(e)) {
+                arcs += graph.source(e) == graph.target(e) ? 1 : 2;
+            }
+        }
+        out.write("c undirected graph, every edge is written as two arcs\n");
+        out.write("p sp " + graph.vertexCount() + " " + arcs + "\n");
+        for (int e = 0; e < graph.edgeLimit(); e++) {
+            if (graph.containsEdge(e)) {
+                String source = Integer.toString(denseIds[graph.source(e)] + 1);
+                String target = Integer.toString(denseIds[graph.target(e)] + 1);
+                String weight = Integer.toString(graph.weight(e));
+                out.write("a " + source + " " + target + " " + weight + "\n");
+                if (graph.source(e) != graph.target(e)) {
+                    out.write("a " + target + " " + source + " " + weight + "\n");
+                }
+            }
+        }
+        out.flush();
+    }
+
+    static void writeBinary(Graph graph, int[] denseIds, Path path) throws IOException {
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(path), WRITE_BUFFER_SIZE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(BINARY_MAGIC).putInt(graph.vertexCount()).putInt(graph.edgeCount());
+            for (int pass = 0; pass < 2; pass++) {
+                for (int v = 0; v < graph.vertexLimit(); v++) {
+                    if (graph.containsVertex(v)) {
+                        buffer = putInt(buffer, stream, pass == 0 ? graph.x(v) : graph.y(v));
+                    }
+                }
+            }
+            for (int pass = 0; pass < 3; pass++) {
+                for (int e = 0; e < graph.edgeLimit(); e++) {
+                    if (graph.containsEdge(e)) {
+                        int value = pass == 0 ? denseIds[graph.source(e)]
+                                : pass == 1 ? denseIds[graph.target(e)] : graph.weight(e);
+                        buffer = putInt(buffer, stream, value);
+                    }
+                }
+            }
+            for (int v = 0; v < graph.vertexLimit(); v++) {
+                if (graph.containsVertex(v)) {
+                    if (graph.hasOwnLabel(v)) {
+                        byte[] label = graph.label(v).getBytes(StandardCharsets.UTF_8);
+                        buffer = putInt(buffer, stream, label.length);
+                        for (byte b : label) {
+                            if (!buffer.hasRemaining()) {
+                                flush(buffer, stream);
+                            }
+                            buffer.put(b);
+                        }
+                    } else {
+                        buffer = putInt(buffer, stream, NO_LABEL);
+                    }
+                }
+            }
+            flush(buffer, stream);
+        }
+    }
+
+    private static ByteBuffer putInt(ByteBuffer buffer, OutputStream stream, int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            flush(buffer, stream);
+        }
+        return buffer.putInt(value);
+    }
+
+    private static void flush(ByteBuffer buffer, OutputStream stream) throws IOException {
+        stream.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+
+    private static Graph build(int vertexCount, int[] sources, int[] targets, int[] weights) {
+        int[] x = new int[vertexCount];
+        int[] y = new int[vertexCount];
+        int columns = Math.max(1, (int) Math.ceil(Math.sqrt(vertexCount)));
+        for (int v = 0; v < vertexCount; v++) {
+            x[v] = GRID_MARGIN + v % columns * GRID_SPACING;
+            y[v] = GRID_MARGIN + v / columns * GRID_SPACING;
+        }
+        return Graph.of(x, y, new String[vertexCount], sources, targets, weights);
+    }
+
+    private static int[] denseIds(Graph graph) {
+        int[] denseIds = new int[graph.vertexLimit()];
+        for (int v = 0, next = 0; v < graph.vertexLimit(); v++) {
+            denseIds[v] = graph.containsVertex(v) ? next++ : -1;
+        }
+        return denseIds;
+    }
+}
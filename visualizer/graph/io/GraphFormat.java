@@ -0,0 +1,28 @@
+package visualizer.graph.io;
+
+import java.nio.file.Path;
+
+public enum GraphFormat {
+    EDGE_LIST("Edge List", "txt"),
+    DIMACS("DIMACS", "gr"),
+    BINARY("Binary Graph", "gbin");
+
+    public final String label;
+    public final String extension;
+
+    GraphFormat(String label, String extension) {
+        this.label = label;
+        this.extension = extension;
+    }
+
+    /** Format implied by the file extension; anything unknown is read as an edge list. */
+    public static GraphFormat of(Path path) {
+        String name = path.getFileName().toString().toLowerCase();
+        if (name.endsWith("." + BINARY.extension)) {
+            return BINARY;
+        } else if (name.endsWith("." + DIMACS.extension) || name.endsWith(".dimacs")) {
+            return DIMACS;
+        }
+        return EDGE_LIST;
+    }
+}
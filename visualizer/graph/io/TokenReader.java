@@ -0,0 +1,138 @@
+package visualizer.graph.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads whitespace separated integers and words from a byte stream through a fixed buffer, without
+ * creating a String per line or token.
+ */
+final class TokenReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long line = 1;
+
+    TokenReader(InputStream in) {
+        this.in = in;
+    }
+
+    /** Next byte without consuming it, or {@code -1} at the end of the stream. */
+    int peek() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    private void advance() {
+        position++;
+    }
+
+    /** Skips spaces and tabs but stops at line ends. */
+    void skipBlanks() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\t' || c == '\r') {
+            advance();
+            c = peek();
+        }
+    }
+
+    boolean atLineEnd() throws IOException {
+        skipBlanks();
+        int c = peek();
+        return c == '\n' || c == -1;
+    }
+
+    boolean atEnd() throws IOException {
+        return peek() == -1;
+    }
+
+    /** Consumes the rest of the current line including its line break. */
+    void skipLine() throws IOException {
+        int c = peek();
+        while (c != '\n' && c != -1) {
+            advance();
+            c = peek();
+        }
+        if (c == '\n') {
+            advance();
+            line++;
+        }
+    }
+
+    void skipWord() throws IOException {
+        skipBlanks();
+        int c = peek();
+        while (c != -1 && c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+            advance();
+            c = peek();
+        }
+    }
+
+    /** Consumes the next word and reports whether it is {@code word}, which must be ASCII. */
+    boolean nextWordIs(String word) throws IOException {
+        skipBlanks();
+        int c = peek();
+        int matched = 0;
+        boolean equal = true;
+        while (c != -1 && c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+            equal &= matched < word.length() && c == word.charAt(matched);
+            matched++;
+            advance();
+            c = peek();
+        }
+        return equal && matched == word.length();
+    }
+
+    boolean atDigit() throws IOException {
+        skipBlanks();
+        int c = peek();
+        return c >= '0' && c <= '9';
+    }
+
+    int nextInt() throws IOException {
+        skipBlanks();
+        int c = peek();
+        boolean negative = c == '-';
+        if (negative || c == '+') {
+            advance();
+            c = peek();
+        }
+        if (c < '0' || c > '9') {
+            throw error("number expected");
+        }
+        long value = 0;
+        while (c >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw error("number out of range");
+            }
+            advance();
+            c = peek();
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw error("number out of range");
+        }
+        return (int) value;
+    }
+
+    IOException error(String message) {
+        return new IOException("Line " + line + ": " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,186 @@
+package visualizer.layout;
+
+import java.util.Arrays;
+
+/**
+ * Quadtree over the vertex positions that summarises every cell by its body count and centre of
+ * mass, so the repulsion on one vertex can treat far-away cells as a single body. Nodes are stored
+ * in flat arrays and the tree is rebuilt in place every iteration; once built it is only read, so
+ * any number of threads may query it at the same time.
+ */
+final class BarnesHutTree {
+    private static final int EMPTY = -1;
+    private static final int INTERNAL = -2;
+    private static final int MAX_DEPTH = 48;
+
+    private final double theta;
+
+    private double[] nodeX = new double[0];
+    private double[] nodeY = new double[0];
+    private double[] nodeSize = new double[0];
+    private double[] massX = new double[0];
+    private double[] massY = new double[0];
+    private int[] mass = new int[0];
+    private int[] body = new int[0];
+    private int[] firstChild = new int[0];
+    private int nodeCount;
+
+    private double[] x;
+    private double[] y;
+
+    BarnesHutTree(double theta) {
+        this.theta = theta;
+    }
+
+    void build(double[] x, double[] y, boolean[] alive) {
+        this.x = x;
+        this.y = y;
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        int bodies = 0;
+        for (int v = 0; v < x.length; v++) {
+            if (alive[v]) {
+                minX = Math.min(minX, x[v]);
+                minY = Math.min(minY, y[v]);
+                maxX = Math.max(maxX, x[v]);
+                maxY = Math.max(maxY, y[v]);
+                bodies++;
+            }
+        }
+        ensureCapacity(Math.max(1, 2 * bodies + 1));
+        nodeCount = 0;
+        if (bodies == 0) {
+            newNode(0, 0, 1);
+            return;
+        }
+        newNode(minX, minY, Math.max(1, Math.max(maxX - minX, maxY - minY)) * 1.0001);
+        for (int v = 0; v < x.length; v++) {
+            if (alive[v]) {
+                insert(v);
+            }
+        }
+    }
+
+    /**
+     * Adds to {@code force} the repulsion {@code strength / d} that all other bodies exert on
+     * {@code v}, approximating every cell that looks smaller than {@code theta} from {@code v}.
+     */
+    void repulsion(int v, double strength, double[] force, int[] stack) {
+        double px = x[v];
+        double py = y[v];
+        double fx = 0;
+        double fy = 0;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int count = mass[node];
+            if (count == 0 || body[node] == v && count == 1) {
+                continue;
+            }
+            double cx = massX[node] / count;
+            double cy = massY[node] / count;
+            double dx = px - cx;
+            double dy = py - cy;
+            double distanceSq = dx * dx + dy * dy;
+            if (body[node] == INTERNAL && nodeSize[node] * nodeSize[node] >= theta * theta * distanceSq) {
+                for (int child = firstChild[node]; child < firstChild[node] + 4; child++) {
+                    stack[top++] = child;
+                }
+                continue;
+            }
+            int others = body[node] == INTERNAL || body[node] != v ? count : count - 1;
+            if (distanceSq == 0) {
+                // Coincident bodies: push apart in a direction fixed by the id so the result is stable.
+                double angle = v * 2.399963229728653;
+                fx += Math.cos(angle) * strength * others;
+                fy += Math.sin(angle) * strength * others;
+            } else {
+                double scale = strength * others / distanceSq;
+                fx += dx * scale;
+                fy += dy * scale;
+            }
+        }
+        force[0] += fx;
+        force[1] += fy;
+    }
+
+    /** Depth of the traversal stack {@link #repulsion} may need. */
+    int stackSize() {
+        return 3 * MAX_DEPTH + 4;
+    }
+
+    private void insert(int v) {
+        int node = 0;
+        for (int depth = 0; ; depth++) {
+            massX[node] += x[v];
+            massY[node] += y[v];
+            mass[node]++;
+            if (body[node] == EMPTY) {
+                body[node] = v;
+                return;
+            }
+            if (body[node] != INTERNAL) {
+                if (depth >= MAX_DEPTH) {
+                    // Bodies this close share the leaf and are repelled as one aggregated body.
+                    return;
+                }
+                int resident = body[node];
+                split(node);
+                int child = childFor(node, resident);
+                massX[child] += x[resident];
+                massY[child] += y[resident];
+                mass[child]++;
+                body[child] = resident;
+            }
+            node = childFor(node, v);
+        }
+    }
+
+    private void split(int node) {
+        double half = nodeSize[node] / 2;
+        int first = newNode(nodeX[node], nodeY[node], half);
+        newNode(nodeX[node] + half, nodeY[node], half);
+        newNode(nodeX[node], nodeY[node] + half, half);
+        newNode(nodeX[node] + half, nodeY[node] + half, half);
+        firstChild[node] = first;
+        body[node] = INTERNAL;
+    }
+
+    private int childFor(int node, int v) {
+        double half = nodeSize[node] / 2;
+        int quadrant = (x[v] >= nodeX[node] + half ? 1 : 0) + (y[v] >= nodeY[node] + half ? 2 : 0);
+        return firstChild[node] + quadrant;
+    }
+
+    private int newNode(double left, double top, double size) {
+        if (nodeCount == nodeX.length) {
+            ensureCapacity(nodeCount * 2);
+        }
+        int node = nodeCount++;
+        nodeX[node] = left;
+        nodeY[node] = top;
+        nodeSize[node] = size;
+        massX[node] = 0;
+        massY[node] = 0;
+        mass[node] = 0;
+        body[node] = EMPTY;
+        return node;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= nodeX.length) {
+            return;
+        }
+        nodeX = Arrays.copyOf(nodeX, capacity);
+        nodeY = Arrays.copyOf(nodeY, capacity);
+        nodeSize = Arrays.copyOf(nodeSize, capacity);
+        massX = Arrays.copyOf(massX, capacity);
+        massY = Arrays.copyOf(massY, capacity);
+        mass = Arrays.copyOf(mass, capacity);
+        body = Arrays.copyOf(body, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+    }
+}
@@ -0,0 +1,167 @@
+package visualizer.layout;
+
+import visualizer.graph.CsrGraph;
+import visualizer.graph.Graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fruchterman-Reingold force-directed layout. Every vertex repels every other one with
+ * {@code k * k / d}, computed in O(n log n) per iteration with a {@link BarnesHutTree}; edges pull
+ * their endpoints together with {@code d * d / k}, and a weak gravity keeps separate components from
+ * drifting apart. Forces are computed in parallel on the common fork/join pool, and every
+ * iteration moves a vertex at most by the current temperature, which cools until the layout settles.
+ *
+ * <p>The layout works on a snapshot of the graph taken at construction and never touches the
+ * graph itself; callers copy the positions back with {@link #copyPositions}.
+ */
+public class ForceLayout {
+    private static final double IDEAL_EDGE_LENGTH = 120;
+    private static final double THETA = 0.8;
+    private static final double GRAVITY = 0.01;
+    private static final double COOLING = 0.95;
+    private static final double MIN_TEMPERATURE = 0.5;
+    private static final int MIN_TASK_SIZE = 512;
+
+    private final CsrGraph graph;
+    private final boolean[] alive;
+    private final double[] x;
+    private final double[] y;
+    private final double[] dispX;
+    private final double[] dispY;
+    private final BarnesHutTree tree = new BarnesHutTree(THETA);
+    private final int vertexCount;
+    private double temperature;
+    private int iterations;
+
+    public ForceLayout(Graph graph) {
+        this.graph = CsrGraph.of(graph);
+        int n = graph.vertexLimit();
+        alive = new boolean[n];
+        x = new double[n];
+        y = new double[n];
+        dispX = new double[n];
+        dispY = new double[n];
+        for (int v = 0; v < n; v++) {
+            if (graph.containsVertex(v)) {
+                alive[v] = true;
+                x[v] = graph.x(v);
+                y[v] = graph.y(v);
+            }
+        }
+        vertexCount = graph.vertexCount();
+        temperature = IDEAL_EDGE_LENGTH * Math.max(1, Math.sqrt(vertexCount)) / 2;
+    }
+
+    /** Runs one iteration and returns whether the layout is still moving. */
+    public boolean step() {
+        if (isSettled()) {
+            return false;
+        }
+        double centreX = 0;
+        double centreY = 0;
+        for (int v = 0; v < x.length; v++) {
+            if (alive[v]) {
+                centreX += x[v];
+                centreY += y[v];
+            }
+        }
+        centreX /= vertexCount;
+        centreY /= vertexCount;
+
+        tree.build(x, y, alive);
+        ForkJoinPool.commonPool().invoke(new ForceTask(0, x.length, centreX, centreY));
+        for (int v = 0; v < x.length; v++) {
+            if (alive[v]) {
+                double length = Math.hypot(dispX[v], dispY[v]);
+                if (length > 0) {
+                    double scale = Math.min(length, temperature) / length;
+                    x[v] += dispX[v] * scale;
+                    y[v] += dispY[v] * scale;
+                }
+            }
+        }
+        temperature *= COOLING;
+        iterations++;
+        return !isSettled();
+    }
+
+    public boolean isSettled() {
+        return vertexCount < 2 || temperature < MIN_TEMPERATURE;
+    }
+
+    public int iterations() {
+        return iterations;
+    }
+
+    /** Writes the positions, centred on {@code (centreX, centreY)}, into the slots of the live vertices. */
+    public void copyPositions(int centreX, int centreY, int[] outX, int[] outY) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < x.length; v++) {
+            if (alive[v]) {
+                minX = Math.min(minX, x[v]);
+                minY = Math.min(minY, y[v]);
+                maxX = Math.max(maxX, x[v]);
+                maxY = Math.max(maxY, y[v]);
+            }
+        }
+        double offsetX = centreX - (minX + maxX) / 2;
+        double offsetY = centreY - (minY + maxY) / 2;
+        for (int v = 0; v < x.length; v++) {
+            if (alive[v]) {
+                outX[v] = (int) Math.round(x[v] + offsetX);
+                outY[v] = (int) Math.round(y[v] + offsetY);
+            }
+        }
+    }
+
+    private class ForceTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final double centreX;
+        private final double centreY;
+
+        ForceTask(int from, int to, double centreX, double centreY) {
+            this.from = from;
+            this.to = to;
+            this.centreX = centreX;
+            this.centreY = centreY;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > MIN_TASK_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ForceTask(from, middle, centreX, centreY), new ForceTask(middle, to, centreX, centreY));
+                return;
+            }
+            double k = IDEAL_EDGE_LENGTH;
+            int[] offsets = graph.offsets;
+            int[] targets = graph.targets;
+            double[] force = new double[2];
+            int[] stack = new int[tree.stackSize()];
+            for (int v = from; v < to; v++) {
+                if (!alive[v]) {
+                    continue;
+                }
+                force[0] = 0;
+                force[1] = 0;
+                tree.repulsion(v, k * k, force, stack);
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    int u = targets[i];
+                    double dx = x[u] - x[v];
+                    double dy = y[u] - y[v];
+                    double distance = Math.hypot(dx, dy);
+                    force[0] += dx * distance / k;
+                    force[1] += dy * distance / k;
+                }
+                dispX[v] = force[0] + (centreX - x[v]) * GRAVITY;
+                dispY[v] = force[1] + (centreY - y[v]) * GRAVITY;
+            }
+        }
+    }
+}
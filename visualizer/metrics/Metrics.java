@@ -0,0 +1,252 @@
+package visualizer.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.swing.*;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counters and timings of algorithm runs and painting: the vertices settled, edges relaxed and heap
+ * operations of every run, the time each paint of the graph takes and how long tasks wait for the
+ * event dispatch thread, measured by posting a probe task ten times a second. Timings are kept as
+ * moving averages plus maxima. The numbers can be read as a one-line summary, over JMX, or appended
+ * to a CSV file with one row per run and one sample row per second.
+ */
+public class Metrics implements MetricsMXBean {
+    private static final String OBJECT_NAME = "visualizer:type=Metrics";
+    private static final double SMOOTHING = 0.1;
+    private static final long PROBE_INTERVAL_MILLIS = 100;
+    private static final int PROBES_PER_SAMPLE = 10;
+    private static final String CSV_HEADER = "time,kind,algorithm,run_ms,vertices_settled,edges_relaxed,"
+            + "heap_operations,frames,paint_ms,max_paint_ms,edt_latency_ms,max_edt_latency_ms";
+
+    private long runCount;
+    private String lastAlgorithm = "";
+    private long lastRunNanos;
+    private long lastVerticesSettled;
+    private long lastEdgesRelaxed;
+    private long lastHeapOperations;
+    private long totalVerticesSettled;
+    private long totalEdgesRelaxed;
+    private long totalHeapOperations;
+
+    private long frameCount;
+    private double paintNanos;
+    private long maxPaintNanos;
+    private double edtLatencyNanos;
+    private long maxEdtLatencyNanos;
+
+    private ScheduledExecutorService probe;
+    private int probeCount;
+    private Writer csv;
+    private String csvError;
+
+    /** Starts probing the event dispatch thread. */
+    public synchronized void start() {
+        if (probe != null) {
+            return;
+        }
+        probe = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        probe.scheduleAtFixedRate(this::probe, PROBE_INTERVAL_MILLIS, PROBE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Registers with the platform MBean server and reports whether that worked. */
+    public boolean register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+            return true;
+        } catch (JMException ex) {
+            return false;
+        }
+    }
+
+    public synchronized void recordRun(String algorithm, long nanos, long verticesSettled, long edgesRelaxed,
+                                       long heapOperations) {
+        runCount++;
+        lastAlgorithm = algorithm;
+        lastRunNanos = nanos;
+        lastVerticesSettled = verticesSettled;
+        lastEdgesRelaxed = edgesRelaxed;
+        lastHeapOperations = heapOperations;
+        totalVerticesSettled += verticesSettled;
+        totalEdgesRelaxed += edgesRelaxed;
+        totalHeapOperations += heapOperations;
+        writeRow("run", algorithm, millis(nanos), verticesSettled, edgesRelaxed, heapOperations);
+    }
+
+    public synchronized void recordPaint(long nanos) {
+        frameCount++;
+        paintNanos = frameCount == 1 ? nanos : paintNanos + SMOOTHING * (nanos - paintNanos);
+        maxPaintNanos = Math.max(maxPaintNanos, nanos);
+    }
+
+    public synchronized void recordEdtLatency(long nanos) {
+        edtLatencyNanos += SMOOTHING * (nanos - edtLatencyNanos);
+        maxEdtLatencyNanos = Math.max(maxEdtLatencyNanos, nanos);
+    }
+
+    /** Starts appending rows to {@code path}, replacing any file there. */
+    public synchronized void startCsv(Path path) throws IOException {
+        stopCsv();
+        Writer writer = Files.newBufferedWriter(path);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        writer.flush();
+        csv = writer;
+        csvError = null;
+    }
+
+    public synchronized void stopCsv() {
+        if (csv != null) {
+            try {
+                csv.close();
+            } catch (IOException ex) {
+                csvError = ex.getMessage();
+            }
+            csv = null;
+        }
+    }
+
+    public synchronized boolean isRecordingCsv() {
+        return csv != null;
+    }
+
+    /** One line for the overlay: the last run, the paint time and the event dispatch latency. */
+    public synchronized String summary() {
+        StringBuilder sb = new StringBuilder();
+        if (runCount > 0) {
+            sb.append(String.format("%s: %.1f ms, %d settled, %d relaxed, %d heap ops | ", lastAlgorithm,
+                    millis(lastRunNanos), lastVerticesSettled, lastEdgesRelaxed, lastHeapOperations));
+        }
+        sb.append(String.format("paint %.1f ms (max %.1f) | EDT %.1f ms (max %.1f)", millis(paintNanos),
+                millis(maxPaintNanos), millis(edtLatencyNanos), millis(maxEdtLatencyNanos)));
+        if (csvError != null) {
+            sb.append(" | CSV stopped: ").append(csvError);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public synchronized long getRunCount() {
+        return runCount;
+    }
+
+    @Override
+    public synchronized String getLastAlgorithm() {
+        return lastAlgorithm;
+    }
+
+    @Override
+    public synchronized double getLastRunMillis() {
+        return millis(lastRunNanos);
+    }
+
+    @Override
+    public synchronized long getLastVerticesSettled() {
+        return lastVerticesSettled;
+    }
+
+    @Override
+    public synchronized long getLastEdgesRelaxed() {
+        return lastEdgesRelaxed;
+    }
+
+    @Override
+    public synchronized long getLastHeapOperations() {
+        return lastHeapOperations;
+    }
+
+    @Override
+    public synchronized long getTotalVerticesSettled() {
+        return totalVerticesSettled;
+    }
+
+    @Override
+    public synchronized long getTotalEdgesRelaxed() {
+        return totalEdgesRelaxed;
+    }
+
+    @Override
+    public synchronized long getTotalHeapOperations() {
+        return totalHeapOperations;
+    }
+
+    @Override
+    public synchronized long getFrameCount() {
+        return frameCount;
+    }
+
+    @Override
+    public synchronized double getPaintMillis() {
+        return millis(paintNanos);
+    }
+
+    @Override
+    public synchronized double getMaxPaintMillis() {
+        return millis(maxPaintNanos);
+    }
+
+    @Override
+    public synchronized double getEdtLatencyMillis() {
+        return millis(edtLatencyNanos);
+    }
+
+    @Override
+    public synchronized double getMaxEdtLatencyMillis() {
+        return millis(maxEdtLatencyNanos);
+    }
+
+    @Override
+    public synchronized void resetMaxima() {
+        maxPaintNanos = 0;
+        maxEdtLatencyNanos = 0;
+    }
+
+    private void probe() {
+        long posted = System.nanoTime();
+        SwingUtilities.invokeLater(() -> recordEdtLatency(System.nanoTime() - posted));
+        synchronized (this) {
+            if (++probeCount % PROBES_PER_SAMPLE == 0) {
+                writeRow("sample", "", 0, 0, 0, 0);
+            }
+        }
+    }
+
+    private void writeRow(String kind, String algorithm, double runMillis, long verticesSettled, long edgesRelaxed,
+                          long heapOperations) {
+        if (csv == null) {
+            return;
+        }
+        try {
+            csv.write(String.format(Locale.ROOT, "%d,%s,%s,%.3f,%d,%d,%d,%d,%.3f,%.3f,%.3f,%.3f\n", System.currentTimeMillis(),
+                    kind, algorithm.replace(',', ' '), runMillis, verticesSettled, edgesRelaxed, heapOperations,
+                    frameCount, millis(paintNanos), millis(maxPaintNanos), millis(edtLatencyNanos),
+                    millis(maxEdtLatencyNanos)));
+            csv.flush();
+        } catch (IOException ex) {
+            csvError = ex.getMessage();
+            try {
+                csv.close();
+            } catch (IOException ignored) {
+                // Already failing; the first error is the one worth reporting.
+            }
+            csv = null;
+        }
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,37 @@
+package visualizer.metrics;
+
+/** Management view of {@link Metrics}, registered as {@code visualizer:type=Metrics}. */
+public interface MetricsMXBean {
+
+    long getRunCount();
+
+    String getLastAlgorithm();
+
+    double getLastRunMillis();
+
+    long getLastVerticesSettled();
+
+    long getLastEdgesRelaxed();
+
+    long getLastHeapOperations();
+
+    long getTotalVerticesSettled();
+
+    long getTotalEdgesRelaxed();
+
+    long getTotalHeapOperations();
+
+    long getFrameCount();
+
+    /** Moving average of the time one paint of the graph takes. */
+    double getPaintMillis();
+
+    double getMaxPaintMillis();
+
+    /** Moving average of how long a task posted to the event dispatch thread waits before it runs. */
+    double getEdtLatencyMillis();
+
+    double getMaxEdtLatencyMillis();
+
+    void resetMaxima();
+}